@@ -0,0 +1,88 @@
+// k6 load test for the auth and user endpoints, used to compare platform-thread and virtual-thread modes.
+//
+//   APP_VIRTUAL_THREADS=false ./mvnw spring-boot:run -Dspring-boot.run.arguments=--app.security.login-throttle.client.permits-per-minute=100000
+//   APP_VIRTUAL_THREADS=true  ./mvnw spring-boot:run -Dspring-boot.run.arguments=--app.security.login-throttle.client.permits-per-minute=100000
+//   then   k6 run load-tests/auth-and-user.js
+//
+// All VUs log in from one address, hence the raised per-client login limit. Each VU has its own user and logs in
+// once, then keeps its session alive through refresh, so the per-email login limit is never hit either.
+//
+// Compare http_reqs (throughput) and the p(99) of http_req_duration per endpoint tag in the two summaries, and
+// record both in load-tests/README.md. BASE_URL, VUS and DURATION can be overridden with -e.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PASSWORD = 'pAssword1!_';
+
+export const options = {
+    scenarios: {
+        auth_and_user: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 200),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // p(99) budgets per endpoint; either mode failing one of them fails the run. Login includes a BCrypt hash
+    // (calibrated to ~50 ms) behind a queue that gives up after 2 s, the others are one token check and one write
+    thresholds: {
+        'http_req_duration{endpoint:login}': ['p(99)<1000'],
+        'http_req_duration{endpoint:refresh}': ['p(99)<250'],
+        'http_req_duration{endpoint:profile}': ['p(99)<150'],
+        'http_req_failed': ['rate<0.01'],
+    },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+function register(email, phone) {
+    http.post(`${BASE_URL}/api/v1/auth/register`, JSON.stringify({
+        firstName: 'Load', lastName: 'Test', email, phoneNumber: phone,
+        password: PASSWORD, confirmPassword: PASSWORD,
+    }), { headers: JSON_HEADERS });
+}
+
+export function setup() {
+    const users = [];
+    const vus = options.scenarios.auth_and_user.vus;
+    for (let i = 0; i < vus; i++) {
+        const email = `load-${Date.now()}-${i}@example.com`;
+        register(email, `+49${Date.now() % 1e9}${String(i).padStart(4, '0')}`);
+        users.push(email);
+    }
+    return { users };
+}
+
+// Per VU: k6 gives each VU its own copy of module state
+let tokens = null;
+
+function login(email) {
+    const response = http.post(`${BASE_URL}/api/v1/auth/login`,
+        JSON.stringify({ email, password: PASSWORD }),
+        { headers: JSON_HEADERS, tags: { endpoint: 'login' } });
+    return check(response, { 'login 200': (r) => r.status === 200 }) ? response.json() : null;
+}
+
+export default function (data) {
+    if (tokens === null) {
+        tokens = login(data.users[(__VU - 1) % data.users.length]);
+        if (tokens === null) {
+            return;
+        }
+    }
+    const auth = { ...JSON_HEADERS, Authorization: `Bearer ${tokens.access_token}` };
+
+    for (let i = 0; i < 10; i++) {
+        const profile = http.patch(`${BASE_URL}/api/v1/users/me`,
+            JSON.stringify({ firstName: 'Loader', lastName: 'Tester', dateOfBirth: '1995-06-15' }),
+            { headers: auth, tags: { endpoint: 'profile' } });
+        check(profile, { 'profile 204': (r) => r.status === 204 });
+    }
+
+    // Refresh tokens rotate, so the next iteration continues with the new pair; on failure the VU logs in again
+    const refresh = http.post(`${BASE_URL}/api/v1/auth/refresh`,
+        JSON.stringify({ refreshToken: tokens.refresh_token }),
+        { headers: JSON_HEADERS, tags: { endpoint: 'refresh' } });
+    tokens = check(refresh, { 'refresh 200': (r) => r.status === 200 }) ? refresh.json() : null;
+}
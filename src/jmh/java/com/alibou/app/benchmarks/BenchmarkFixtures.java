@@ -0,0 +1,90 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.config.CacheConfig;
+import com.alibou.app.config.CacheProperties;
+import com.alibou.app.role.Role;
+import com.alibou.app.security.JwtAlgorithm;
+import com.alibou.app.security.JwtKey;
+import com.alibou.app.security.JwtKeyRing;
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.KeyUtils;
+import com.alibou.app.security.VerifiedTokenCache;
+import com.alibou.app.token.RevokedTokenRepository;
+import com.alibou.app.token.TokenRevocationService;
+import com.alibou.app.token.impl.TokenRevocationServiceImpl;
+import com.alibou.app.user.TokenEpochBumpRepository;
+import com.alibou.app.user.User;
+import com.alibou.app.user.UserEpochCache;
+import com.alibou.app.user.UserRepository;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the security beans the benchmarks need without starting a Spring context.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {}
+
+    static JwtService jwtService(final boolean cached, final boolean stateless) throws Exception {
+        final PublicKey publicKey = KeyUtils.loadPublicKey("keys/local-only/public_key.pem");
+        final JwtKey signingKey = new JwtKey(KeyUtils.keyId(publicKey), JwtAlgorithm.RS256,
+                KeyUtils.loadPrivateKey("keys/local-only/private_key.pem"), publicKey);
+        return jwtService(signingKey, cached, stateless);
+    }
+
+    static JwtService jwtService(final JwtKey signingKey, final boolean cached, final boolean stateless) {
+        final CacheManager cacheManager = cacheManager(cached);
+        final JwtService jwtService = new JwtService(
+                new JwtKeyRing(signingKey, List.of(signingKey)),
+                new VerifiedTokenCache(cacheManager),
+                new UserEpochCache(cacheManager, repository(UserRepository.class),
+                        repository(TokenEpochBumpRepository.class), 900_000L, 1_000)
+        );
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "stateless", stateless);
+        return jwtService;
+    }
+
+    /**
+     * Revocations go to the in-memory mirror only; the repository stub just hands back what is saved.
+     */
+    static TokenRevocationService tokenRevocationService() {
+        final RevokedTokenRepository repository = (RevokedTokenRepository) Proxy.newProxyInstance(
+                RevokedTokenRepository.class.getClassLoader(),
+                new Class<?>[]{RevokedTokenRepository.class},
+                (proxy, method, args) -> "save".equals(method.getName()) ? args[0] : null);
+        return new TokenRevocationServiceImpl(repository, 10_000, 1_000);
+    }
+
+    /**
+     * The token checks the benchmarks run never reach a repository; this stub answers {@code null} to everything.
+     */
+    static <T> T repository(final Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> null));
+    }
+
+    static CacheManager cacheManager(final boolean enabled) {
+        return enabled ? new CacheConfig().cacheManager(new CacheProperties()) : new NoOpCacheManager();
+    }
+
+    static User user() {
+        return User.builder()
+                .id(UUID.fromString("3f2b8c1e-5a4d-4e7f-9b6a-1c2d3e4f5a6b"))
+                .firstName("Ali")
+                .lastName("Ali")
+                .email("ali@gmail.com")
+                .phoneNumber("+4912389765634")
+                .enabled(true)
+                .roles(List.of(Role.builder().name("ROLE_USER").build()))
+                .build();
+    }
+}
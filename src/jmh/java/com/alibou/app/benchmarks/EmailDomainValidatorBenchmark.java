@@ -0,0 +1,38 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.validation.EmailDomainValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailDomainValidatorBenchmark {
+
+    // Same list as app.security.disposable-mail
+    private static final List<String> DISPOSABLE_DOMAINS = List.of(
+            "10minutemail", "20minutemail", "33mail", "5ymail", "anonbox", "guerrillamail", "mailinator",
+            "maildrop", "mailnesia", "moakt", "my10minutemail", "throwawaymail", "trashmail", "temp-mail",
+            "tempmail", "truemail", "yopmail"
+    );
+
+    @Param({"ali@gmail.com", "someone@yopmail.com"})
+    private String email;
+
+    private EmailDomainValidator validator;
+
+    @Setup
+    public void setUp() {
+        this.validator = new EmailDomainValidator(DISPOSABLE_DOMAINS);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return this.validator.isValid(this.email, null);
+    }
+}
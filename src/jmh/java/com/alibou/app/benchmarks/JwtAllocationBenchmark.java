@@ -0,0 +1,42 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes allocated per issued and per verified token. Run with {@code -prof gc} (the profile default) and read
+ * {@code gc.alloc.rate.norm}. The cache is disabled so every verification goes through the parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAllocationBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.user = BenchmarkFixtures.user();
+        this.jwtService = BenchmarkFixtures.jwtService(false, false);
+        this.token = this.jwtService.generateAccessToken(this.user);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return this.jwtService.generateAccessToken(this.user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyToken() {
+        return this.jwtService.verify(this.token);
+    }
+}
@@ -0,0 +1,79 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.security.JwtFilter;
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.PublicRoutes;
+import com.alibou.app.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtFilter} on mock servlet objects. The user lookup is an in-memory
+ * stub, so this measures the filter's own work (token verification, principal and authentication building).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    @Param({"false", "true"})
+    private boolean stateless;
+
+    private JwtFilter jwtFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest garbageRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        final User user = BenchmarkFixtures.user();
+        final JwtService jwtService = BenchmarkFixtures.jwtService(this.cached, this.stateless);
+        this.jwtFilter = new JwtFilter(jwtService, username -> user, BenchmarkFixtures.tokenRevocationService(),
+                new PublicRoutes(), new ObjectMapper());
+
+        this.request = new MockHttpServletRequest("PATCH", "/api/v1/users/me");
+        this.request.setServletPath("/api/v1/users/me");
+        this.request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateAccessToken(user));
+        this.response = new MockHttpServletResponse();
+
+        this.garbageRequest = new MockHttpServletRequest("PATCH", "/api/v1/users/me");
+        this.garbageRequest.setServletPath("/api/v1/users/me");
+        this.garbageRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt");
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        try {
+            this.jwtFilter.doFilter(this.request, this.response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * The rejection path for a token that fails the structural check. A fresh response per call keeps the written
+     * bodies from accumulating.
+     */
+    @Benchmark
+    public int rejectGarbageToken() throws Exception {
+        final MockHttpServletResponse rejected = new MockHttpServletResponse();
+        this.jwtFilter.doFilter(this.garbageRequest, rejected, NO_OP_CHAIN);
+        return rejected.getStatus();
+    }
+}
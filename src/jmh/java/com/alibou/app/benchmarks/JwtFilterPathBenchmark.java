@@ -0,0 +1,42 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of what JwtFilter does for one authenticated request (verify the token, then validate it against the
+ * principal), with the verified-token cache disabled and enabled. This is the before/after comparison for caching
+ * verified tokens; {@link JwtFilterBenchmark} measures the same with the whole filter around it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterPathBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.user = BenchmarkFixtures.user();
+        this.jwtService = BenchmarkFixtures.jwtService(this.cached, false);
+        this.token = this.jwtService.generateAccessToken(this.user);
+    }
+
+    @Benchmark
+    public boolean authenticateRequest() {
+        final VerifiedToken verified = this.jwtService.verify(this.token);
+        return this.jwtService.isTokenValid(verified, verified.subject());
+    }
+}
@@ -0,0 +1,60 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification through {@link JwtService}. With {@code -prof gc} (the profile default)
+ * {@code gc.alloc.rate.norm} gives the bytes allocated per issued / verified token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+    private VerifiedToken refreshToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.user = BenchmarkFixtures.user();
+        this.jwtService = BenchmarkFixtures.jwtService(this.cached, false);
+        this.accessToken = this.jwtService.generateAccessToken(this.user);
+        this.refreshToken = this.jwtService.verify(this.jwtService.generateRefreshToken(this.user, "benchmark-jti"));
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return this.jwtService.generateAccessToken(this.user);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return this.jwtService.generateRefreshToken(this.user, "benchmark-jti");
+    }
+
+    /**
+     * Replaces the old {@code extractUsername}: verifying is the only way to read the subject.
+     */
+    @Benchmark
+    public String extractUsername() {
+        return this.jwtService.verify(this.accessToken).subject();
+    }
+
+    @Benchmark
+    public String refreshAccessToken() {
+        return this.jwtService.refreshAccessToken(this.refreshToken, this.user);
+    }
+}
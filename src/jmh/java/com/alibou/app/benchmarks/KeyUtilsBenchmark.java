@@ -0,0 +1,30 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.security.KeyUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PEM loading cost; paid once at startup today, but relevant for anything that reloads keys at runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyUtilsBenchmark {
+
+    @Benchmark
+    public PrivateKey loadPrivateKey() throws Exception {
+        return KeyUtils.loadPrivateKey("keys/local-only/private_key.pem");
+    }
+
+    @Benchmark
+    public PublicKey loadPublicKey() throws Exception {
+        return KeyUtils.loadPublicKey("keys/local-only/public_key.pem");
+    }
+}
@@ -0,0 +1,67 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.security.JwtAlgorithm;
+import com.alibou.app.security.JwtKey;
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.KeyUtils;
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuance and (uncached) verification cost per signature algorithm, on freshly generated keys:
+ * RSA 2048, EC P-256 and Ed25519.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private JwtAlgorithm algorithm;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        final KeyPair keyPair = generate(this.algorithm);
+        final JwtKey signingKey = new JwtKey(KeyUtils.keyId(keyPair.getPublic()), this.algorithm,
+                keyPair.getPrivate(), keyPair.getPublic());
+
+        this.user = BenchmarkFixtures.user();
+        this.jwtService = BenchmarkFixtures.jwtService(signingKey, false, false);
+        this.token = this.jwtService.generateAccessToken(this.user);
+    }
+
+    @Benchmark
+    public String issue() {
+        return this.jwtService.generateAccessToken(this.user);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return this.jwtService.verify(this.token);
+    }
+
+    private static KeyPair generate(final JwtAlgorithm algorithm) throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+        switch (algorithm) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case ES384 -> generator.initialize(new ECGenParameterSpec("secp384r1"));
+            case ES512 -> generator.initialize(new ECGenParameterSpec("secp521r1"));
+            case EdDSA -> { }
+        }
+        return generator.generateKeyPair();
+    }
+}
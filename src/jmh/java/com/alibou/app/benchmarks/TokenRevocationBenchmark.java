@@ -0,0 +1,56 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.token.TokenRevocationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The revocation check JwtFilter runs on every request, with an empty and a full revocation list. Run with
+ * {@code -prof gc}: the not-revoked case should report no allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    @Param({"0", "10000"})
+    private int revokedTokens;
+
+    private TokenRevocationService tokenRevocationService;
+    private VerifiedToken liveToken;
+    private VerifiedToken revokedToken;
+
+    @Setup
+    public void setUp() {
+        this.tokenRevocationService = BenchmarkFixtures.tokenRevocationService();
+        for (int i = 0; i < this.revokedTokens; i++) {
+            this.tokenRevocationService.revoke(accessToken());
+        }
+        this.liveToken = accessToken();
+        this.revokedToken = accessToken();
+        this.tokenRevocationService.revoke(this.revokedToken);
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return this.tokenRevocationService.isRevoked(this.liveToken);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return this.tokenRevocationService.isRevoked(this.revokedToken);
+    }
+
+    private static VerifiedToken accessToken() {
+        final long now = System.currentTimeMillis();
+        return new VerifiedToken("ali@gmail.com", VerifiedToken.ACCESS_TOKEN, UUID.randomUUID().toString(),
+                0, null, List.of(), now, now + TimeUnit.HOURS.toMillis(1));
+    }
+}
@@ -0,0 +1,116 @@
+package com.alibou.app.benchmarks;
+
+import com.alibou.app.common.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched inserts into a table keyed like {@code users}, against a local PostgreSQL, comparing the old random
+ * varchar ids with native uuid ids, random (v4) and time-ordered (v7). Scores are rows per second; at the end of
+ * each trial the size, leaf-page count and leaf density of the primary-key index are printed (through the
+ * {@code pgstattuple} extension when it can be created). Random keys split pages all over the tree and leave
+ * leaves about half full; v7 keys fill the rightmost leaf and split it once full.
+ * <p>
+ * Needs a reachable database (without one the trial fails and the other benchmarks still run). Connection
+ * settings: {@code -Dbench.db.url}, {@code -Dbench.db.user}, {@code -Dbench.db.password}, e.g.
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="UuidPrimaryKeyInsert -jvmArgsAppend -Dbench.db.url=..."}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidPrimaryKeyInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum KeyType {
+        VARCHAR_V4("varchar(255)"),
+        UUID_V4("uuid"),
+        UUID_V7("uuid");
+
+        private final String columnType;
+
+        KeyType(final String columnType) {
+            this.columnType = columnType;
+        }
+    }
+
+    @Param({"VARCHAR_V4", "UUID_V4", "UUID_V7"})
+    private KeyType keyType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/postgres"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+        this.table = "bench_ids_" + this.keyType.name().toLowerCase();
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("drop table if exists " + this.table);
+            statement.execute("create table " + this.table + " (id " + this.keyType.columnType
+                    + " primary key, email varchar(255) not null, created_at timestamp(6) not null default now())");
+        }
+        this.connection.setAutoCommit(false);
+        this.insert = this.connection.prepareStatement("insert into " + this.table + " (id, email) values (?, ?)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            switch (this.keyType) {
+                case VARCHAR_V4 -> this.insert.setString(1, UUID.randomUUID().toString());
+                case UUID_V4 -> this.insert.setObject(1, UUID.randomUUID());
+                case UUID_V7 -> this.insert.setObject(1, UuidV7.next());
+            }
+            this.insert.setString(2, "user" + i + "@example.com");
+            this.insert.addBatch();
+        }
+        final int[] counts = this.insert.executeBatch();
+        this.connection.commit();
+        return counts;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.connection.setAutoCommit(true);
+        final String index = this.table + "_pkey";
+        try (Statement statement = this.connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("select count(*), pg_relation_size('" + index + "') from "
+                    + this.table)) {
+                rs.next();
+                System.out.printf("%n%s: %d rows, primary-key index %d kB%n",
+                        this.keyType, rs.getLong(1), rs.getLong(2) / 1024);
+            }
+            try {
+                statement.execute("create extension if not exists pgstattuple");
+                try (ResultSet rs = statement.executeQuery(
+                        "select leaf_pages, avg_leaf_density, leaf_fragmentation from pgstatindex('" + index + "')")) {
+                    rs.next();
+                    System.out.printf("%s: %d leaf pages, %.1f%% average leaf density, %.1f%% leaf fragmentation%n",
+                            this.keyType, rs.getLong(1), rs.getDouble(2), rs.getDouble(3));
+                }
+            } catch (final SQLException e) {
+                System.out.println("pgstattuple not available, index size only: " + e.getMessage());
+            }
+            statement.execute("drop table if exists " + this.table);
+        } finally {
+            this.insert.close();
+            this.connection.close();
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package com.alibou.app;
 
 import com.alibou.app.role.Role;
+import com.alibou.app.role.RoleRegistry;
 import com.alibou.app.role.RoleRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
-import java.util.Optional;
-
 @SpringBootApplication
 public class Application {
 
@@ -17,16 +16,18 @@ public class Application {
 	}
 
     @Bean
-    public CommandLineRunner commandLineRunner(final RoleRepository roleRepository){
+    public CommandLineRunner commandLineRunner(final RoleRepository roleRepository,
+                                               final RoleRegistry roleRegistry){
 
         return args -> {
-            final Optional<Role> userRole = roleRepository.findByName("ROLE_USER");
-            if (userRole.isEmpty()){
-                final Role role = new Role();
-                role.setName("ROLE_USER");
-                role.setCreated_by("APP");
-                roleRepository.save(role);
-            }
+            final Role userRole = roleRepository.findByName(RoleRegistry.ROLE_USER)
+                    .orElseGet(() -> {
+                        final Role role = new Role();
+                        role.setName(RoleRegistry.ROLE_USER);
+                        role.setCreated_by("APP");
+                        return roleRepository.save(role);
+                    });
+            roleRegistry.register(userRole);
         };
     }
 }
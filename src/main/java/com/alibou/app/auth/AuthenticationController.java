@@ -7,10 +7,12 @@ import com.alibou.app.auth.response.AuthenticationResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -41,4 +43,19 @@ public class AuthenticationController {
                                                           final RefreshRequest request){
         return ResponseEntity.ok(this.authenticationService.refreshToken(request));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false)
+                                       final String authorization,
+                                       @RequestBody(required = false)
+                                       final RefreshRequest request){
+        final String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        if (accessToken == null && (request == null || request.getRefreshToken() == null)){
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        this.authenticationService.logout(accessToken, request);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -12,4 +12,10 @@ public interface AuthenticationService {
     void register(RegistrationRequest request);
 
     AuthenticationResponse refreshToken(RefreshRequest request);
+
+    /**
+     * Revokes {@code accessToken} and, when given, the family of the refresh token in {@code request}. A missing,
+     * expired or invalid access token is skipped, so the refresh token family is still revoked.
+     */
+    void logout(String accessToken, RefreshRequest request);
 }
@@ -8,19 +8,27 @@ import com.alibou.app.auth.response.AuthenticationResponse;
 import com.alibou.app.exceptions.BusinessException;
 import com.alibou.app.exceptions.ErrorCode;
 import com.alibou.app.role.Role;
-import com.alibou.app.role.RoleRepository;
+import com.alibou.app.role.RoleRegistry;
+import com.alibou.app.security.InvalidTokenException;
 import com.alibou.app.security.JwtService;
+import com.alibou.app.security.LoginThrottle;
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.token.RefreshTokenService;
+import com.alibou.app.token.TokenRevocationService;
 import com.alibou.app.user.User;
 import com.alibou.app.user.UserMapper;
 import com.alibou.app.user.UserRepository;
-import jakarta.persistence.EntityNotFoundException;
+import com.alibou.app.user.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,22 +41,42 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final UserMapper userMapper;
-
+    private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Not transactional: the user lookup and the refresh-token insert each take a connection for their own
+     * statement, and the password check in between runs without one.
+     */
     @Override
     public AuthenticationResponse login(AuthenticationRequest request) {
 
-        final Authentication auth = this.authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        // Throttled attempts are refused here, before the authentication manager hashes the password
+        this.loginThrottle.checkEmail(request.getEmail());
+        final Authentication auth;
+        try {
+            auth = this.authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (final BadCredentialsException e) {
+            if (this.loginThrottle.recordFailure(request.getEmail())) {
+                this.userService.lockAccount(request.getEmail(), this.loginThrottle.getLockDuration());
+            }
+            throw e;
+        }
+        this.loginThrottle.recordSuccess(request.getEmail());
 
         final User user = (User) auth.getPrincipal();
-        final String token = this.jwtService.generateAccessToken(user.getUsername());
-        final String refreshToken = this.jwtService.generateRefreshToken(user.getUsername());
+        final String token = this.jwtService.generateAccessToken(user);
+        final String refreshToken = this.refreshTokenService.issue(user);
         final String tokenType = "Bearer";
 
         return AuthenticationResponse.builder()
@@ -58,43 +86,78 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .build();
     }
 
+    /**
+     * The password is hashed before the transaction starts, so the connection is only held for the inserts.
+     * Duplicates are not looked up beforehand: the insert itself hits the unique email or phone constraint, which
+     * is one round trip instead of three and also catches concurrent sign-ups with the same details.
+     */
     @Override
-    @Transactional //What does this annotation do?
     public void register(final RegistrationRequest request) {
 
-        checkUserEmail(request.getEmail());
-        checkUserPhoneNumber(request.getPhoneNumber());
         checkPassword(request.getPassword(), request.getConfirmPassword());
 
-        final Role userRole = this.roleRepository.findByName("ROLE_USER")
-                .orElseThrow(() -> new EntityNotFoundException("Role user does not exist"));
-
-        final List<Role> roles = new ArrayList<>();
-        roles.add(userRole);
-
         final User user = this.userMapper.toUser(request);
-        user.setRoles(roles);
-        log.debug("Saving user {}", user);
-        this.userRepository.save(user);
-
-        final List<User> users = new ArrayList<>();
-        users.add(user);
-        userRole.setUsers(users);
 
-        this.roleRepository.save(userRole);
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                // The role reference must belong to the same persistence context as the insert
+                final List<Role> roles = new ArrayList<>();
+                roles.add(this.roleRegistry.getReference(RoleRegistry.ROLE_USER));
+                user.setRoles(roles);
+                log.debug("Saving user {}", user);
+                // Flushed here so a constraint violation surfaces from this call, not from the commit
+                this.userRepository.saveAndFlush(user);
+            });
+        } catch (final DataIntegrityViolationException e) {
+            throw toDuplicateUserException(e);
+        }
     }
 
     @Override
     public AuthenticationResponse refreshToken(final RefreshRequest request) {
-        final String newAccessToken = this.jwtService.refreshAccessToken(request.getRefreshToken());
+        final VerifiedToken refreshToken = this.jwtService.verify(request.getRefreshToken());
+        // Read uncached: the refresh token is checked against, and new tokens carry, the current token version
+        final User user = (User) this.userService.loadCurrentUserByUsername(refreshToken.subject());
+        final String newAccessToken = this.jwtService.refreshAccessToken(refreshToken, user);
+        final String newRefreshToken = this.refreshTokenService.rotate(refreshToken, user);
         final String tokenType = "Bearer";
         return AuthenticationResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(request.getRefreshToken())
+                .refreshToken(newRefreshToken)
                 .tokenType(tokenType)
                 .build();
     }
 
+    @Override
+    public void logout(final String accessToken, final RefreshRequest request) {
+        final VerifiedToken token = verifyAccessTokenForLogout(accessToken);
+        if (token != null) {
+            this.tokenRevocationService.revoke(token);
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            final VerifiedToken refreshToken = this.jwtService.verify(request.getRefreshToken());
+            // The refresh token stands on its own; the subjects only have to agree when both tokens are usable
+            if (refreshToken.isRefreshToken() && (token == null || refreshToken.subject().equals(token.subject()))) {
+                this.refreshTokenService.revoke(refreshToken);
+            }
+        }
+    }
+
+    /**
+     * An access token that is missing, expired or otherwise unusable has nothing left to revoke.
+     */
+    private VerifiedToken verifyAccessTokenForLogout(final String accessToken) {
+        if (accessToken == null) {
+            return null;
+        }
+        try {
+            final VerifiedToken token = this.jwtService.verify(accessToken);
+            return token.isAccessToken() ? token : null;
+        } catch (final InvalidTokenException e) {
+            return null;
+        }
+    }
+
     private void checkPassword(final String password,
                                final String confirmPassword) {
         if (password == null || !password.equals(confirmPassword)){
@@ -102,17 +165,16 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         }
     }
 
-    private void checkUserPhoneNumber(final String phoneNumber) {
-        final boolean phoneNumberExists = this.userRepository.existsByPhoneNumber(phoneNumber);
-        if (phoneNumberExists){
-            throw new BusinessException(ErrorCode.PHONE_ALREADY_EXISTS);
+    private static RuntimeException toDuplicateUserException(final DataIntegrityViolationException e) {
+        final String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (User.EMAIL_UNIQUE_INDEX.equalsIgnoreCase(constraint)) {
+            return new BusinessException(ErrorCode.EMAIL_ALREADY_EXISTS);
         }
-    }
-
-    private void checkUserEmail(final String email) {
-        final boolean emailExists = this.userRepository.existsByEmailIgnoreCase(email);
-        if (emailExists){
-            throw new BusinessException(ErrorCode.EMAIL_ALREADY_EXISTS);
+        if (User.PHONE_NUMBER_UNIQUE_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            return new BusinessException(ErrorCode.PHONE_ALREADY_EXISTS);
         }
+        return e;
     }
 }
@@ -0,0 +1,43 @@
+package com.alibou.app.common;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562): a 48-bit Unix millisecond timestamp, then a 12-bit sequence, then 62 random bits.
+ * Consecutive ids sort by creation time, so primary-key inserts append to the right edge of the B-tree instead
+ * of landing on random pages. Within one millisecond the sequence keeps ids from this JVM strictly increasing.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Timestamp in the high bits, sequence in the low 12, so one CAS advances both
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {}
+
+    public static UUID next() {
+        final long timeAndSequence = nextTimeAndSequence();
+        final long millis = timeAndSequence >>> 12;
+        final long sequence = timeAndSequence & 0xFFFL;
+        final long mostSignificant = (millis << 16) | 0x7000L | sequence;
+        final long leastSignificant = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * The current millisecond with sequence 0, or the previous value plus one if that is not greater (same
+     * millisecond, or the clock went back); a sequence overflow simply moves into the next millisecond.
+     */
+    private static long nextTimeAndSequence() {
+        final long now = System.currentTimeMillis() << 12;
+        while (true) {
+            final long last = LAST.get();
+            final long next = Math.max(now, last + 1);
+            if (LAST.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
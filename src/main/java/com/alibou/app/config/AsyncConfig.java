@@ -0,0 +1,14 @@
+package com.alibou.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled}, which runs on Spring Boot's auto-configured scheduler and switches to virtual
+ * threads together with Tomcat when {@code spring.threads.virtual.enabled=true}. Nothing here is {@code @Async},
+ * so async execution stays off.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -1,20 +1,56 @@
 package com.alibou.app.config;
 
+import com.alibou.app.security.AdaptiveBCryptPasswordEncoder;
 import com.alibou.app.security.ApplicationAuditorAware;
+import com.alibou.app.security.OffloadingPasswordEncoder;
+import com.alibou.app.user.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class BeansConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hashing.threads:0}")
+            final int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}")
+            final int queueCapacity,
+            @Value("${app.security.password-hashing.max-wait:2s}")
+            final Duration maxWait,
+            @Value("${app.security.password-hashing.target-latency:50ms}")
+            final Duration targetLatency,
+            @Value("${app.security.password-hashing.min-strength:10}")
+            final int minStrength,
+            @Value("${app.security.password-hashing.max-strength:14}")
+            final int maxStrength,
+            final MeterRegistry meterRegistry){
+        final PasswordEncoder bcrypt = new AdaptiveBCryptPasswordEncoder(targetLatency, minStrength, maxStrength);
+        // BCrypt is CPU-bound, so the pool defaults to one thread per core
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(bcrypt, poolSize, queueCapacity, maxWait, meterRegistry);
+    }
+
+    /**
+     * Password logins load the user straight from the database, so a changed password or lock applies on every node
+     * at once; the principal cache only serves the JWT filter.
+     */
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(final UserService userService,
+                                                            final PasswordEncoder passwordEncoder){
+        final DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userService::loadCurrentUserByUsername);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userService);
+        return provider;
     }
 
     @Bean
@@ -1,18 +1,89 @@
 package com.alibou.app.config;
 
+import com.alibou.app.security.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine-backed caches (W-TinyLFU eviction, bounded size, stats recorded and exported by actuator as
+ * {@code cache.*} metrics). Sizes and expiries come from {@link CacheProperties}.
+ */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    public static final String USERS = "users";
+    public static final String VERIFIED_TOKENS = "verified-tokens";
+    public static final String ROLES = "roles";
+    public static final String REJECTED_REFRESH_TOKENS = "rejected-refresh-tokens";
+    public static final String USER_EPOCHS = "user-epochs";
+
     @Bean
-    public CacheManager cacheManager(){
-        return new ConcurrentMapCacheManager("jwt-keys");
+    public CacheManager cacheManager(final CacheProperties properties){
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+
+        cacheManager.registerCustomCache(USERS, builder(properties.specFor(USERS)).build());
+        cacheManager.registerCustomCache(ROLES, builder(properties.specFor(ROLES)).build());
+        cacheManager.registerCustomCache(USER_EPOCHS, builder(properties.specFor(USER_EPOCHS)).build());
+        cacheManager.registerCustomCache(REJECTED_REFRESH_TOKENS,
+                builder(properties.specFor(REJECTED_REFRESH_TOKENS)).build());
+
+        // A verified token is only worth keeping until its own exp, so that drives expiry, capped by the spec
+        final CacheProperties.Spec tokens = properties.specFor(VERIFIED_TOKENS);
+        cacheManager.registerCustomCache(VERIFIED_TOKENS, Caffeine.newBuilder()
+                .maximumSize(tokens.getMaximumSize())
+                .expireAfter(untilTokenExpiry(tokens.getExpireAfterWrite()))
+                .recordStats()
+                .build());
+
+        return cacheManager;
     }
 
+    private static Caffeine<Object, Object> builder(final CacheProperties.Spec spec) {
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
+
+    private static Expiry<Object, Object> untilTokenExpiry(final Duration cap) {
+        final long capNanos = cap != null ? cap.toNanos() : Long.MAX_VALUE;
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(final Object key, final Object value, final long currentTime) {
+                final long remainingMillis = ((VerifiedToken) value).expiresAt() - System.currentTimeMillis();
+                return Math.max(0, Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), capNanos));
+            }
+
+            @Override
+            public long expireAfterUpdate(final Object key, final Object value,
+                                          final long currentTime, final long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(final Object key, final Object value,
+                                        final long currentTime, final long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
 }
@@ -0,0 +1,34 @@
+package com.alibou.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and expiry of every named cache, bound from {@code app.cache.*}. Caches that are not listed under
+ * {@code specs} get the {@code defaults}, so no cache is ever unbounded.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Spec defaults = new Spec();
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Spec specFor(final String cacheName) {
+        return this.specs.getOrDefault(cacheName, this.defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+    }
+}
@@ -0,0 +1,34 @@
+package com.alibou.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits per group of endpoints, bound from {@code app.concurrency-limit.*}. Requests whose
+ * path matches no group's {@code path-prefix} are not limited.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private String pathPrefix;
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        // A request slower than this counts as a sign of overload and shrinks the limit
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        private double backoffRatio = 0.9;
+    }
+}
@@ -1,27 +1,59 @@
 package com.alibou.app.config;
 
+import com.alibou.app.security.JwtAlgorithm;
+import com.alibou.app.security.JwtKey;
+import com.alibou.app.security.JwtKeyRing;
+import com.alibou.app.security.JwtKeyRingWatcher;
 import com.alibou.app.security.KeyUtils;
-import org.springframework.cache.annotation.Cacheable;
+import com.alibou.app.security.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 
+import java.nio.file.Path;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.List;
 
 @Configuration
 public class JwtKeyConfig {
 
-    @Bean("jwtPrivateKey")
-    @Cacheable("jwt-keys") // Simpler - no explicit key needed
-    public PrivateKey jwtPrivateKey() throws Exception {
-        System.out.println("Loading private key..."); // Will only print once
-        return KeyUtils.loadPrivateKey("keys/local-only/private_key.pem");
+    /**
+     * With {@code app.security.jwt.key-ring.directory} set, keys come from that directory and are hot-reloaded;
+     * otherwise the ring holds the single classpath key pair.
+     */
+    @Bean
+    public JwtKeyRing jwtKeyRing(
+            @Value("${app.security.jwt.key-ring.directory:}")
+            final String keyRingDirectory,
+            @Value("${app.security.jwt.algorithm:RS256}")
+            final JwtAlgorithm algorithm,
+            @Value("${app.security.jwt.private-key:keys/local-only/private_key.pem}")
+            final String privateKeyPath,
+            @Value("${app.security.jwt.public-key:keys/local-only/public_key.pem}")
+            final String publicKeyPath) throws Exception {
+        if (StringUtils.hasText(keyRingDirectory)) {
+            return JwtKeyRing.fromDirectory(Path.of(keyRingDirectory));
+        }
+        final PrivateKey privateKey = KeyUtils.loadPrivateKey(privateKeyPath, algorithm.getKeyAlgorithm());
+        final PublicKey publicKey = KeyUtils.loadPublicKey(publicKeyPath, algorithm.getKeyAlgorithm());
+        if (JwtAlgorithm.of(publicKey) != algorithm) {
+            throw new IllegalStateException("The key in " + publicKeyPath + " is for " + JwtAlgorithm.of(publicKey)
+                    + ", not the configured " + algorithm);
+        }
+        final JwtKey signingKey = new JwtKey(KeyUtils.keyId(publicKey), algorithm, privateKey, publicKey);
+        return new JwtKeyRing(signingKey, List.of(signingKey));
     }
 
-    @Bean("jwtPublicKey")
-    @Cacheable("jwt-keys")
-    public PublicKey jwtPublicKey() throws Exception {
-        System.out.println("Loading public key..."); // Will only print once
-        return KeyUtils.loadPublicKey("keys/local-only/public_key.pem");
+    @Bean
+    @ConditionalOnProperty("app.security.jwt.key-ring.directory")
+    public JwtKeyRingWatcher jwtKeyRingWatcher(
+            final JwtKeyRing jwtKeyRing,
+            final VerifiedTokenCache verifiedTokenCache,
+            @Value("${app.security.jwt.key-ring.directory}")
+            final String keyRingDirectory) {
+        return new JwtKeyRingWatcher(jwtKeyRing, Path.of(keyRingDirectory), verifiedTokenCache);
     }
 }
@@ -0,0 +1,40 @@
+package com.alibou.app.controller;
+
+import com.alibou.app.security.JwkSetCache;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@Tag(name = "JWKS", description = "Public keys for verifying tokens issued by this service")
+public class JwksController {
+
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final JwkSetCache jwkSetCache;
+    private final CacheControl cacheControl;
+
+    public JwksController(final JwkSetCache jwkSetCache,
+                          @Value("${app.security.jwt.jwks.max-age:PT5M}")
+                          final Duration maxAge) {
+        this.jwkSetCache = jwkSetCache;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    // Spring answers If-None-Match itself when the response carries an ETag, sending 304 without the body
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks() {
+        final JwkSetCache.JwkSet jwkSet = this.jwkSetCache.get();
+        return ResponseEntity.ok()
+                .eTag(jwkSet.etag())
+                .cacheControl(this.cacheControl)
+                .contentType(JWK_SET)
+                .body(jwkSet.json());
+    }
+}
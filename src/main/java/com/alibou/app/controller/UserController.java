@@ -1,6 +1,6 @@
 package com.alibou.app.controller;
 
-import com.alibou.app.user.User;
+import com.alibou.app.security.UserPrincipal;
 import com.alibou.app.user.UserService;
 import com.alibou.app.user.request.ChangePasswordRequest;
 import com.alibou.app.user.request.ProfileUpdateRequest;
@@ -11,6 +11,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
@@ -59,7 +61,7 @@ public class UserController {
         this.userService.deleteAccount(getUserId(principal));
     }
 
-    private String getUserId(final Authentication principal) {
-        return ((User) principal.getPrincipal()).getId();
+    private UUID getUserId(final Authentication principal) {
+        return ((UserPrincipal) principal.getPrincipal()).getId();
     }
 }
@@ -17,8 +17,15 @@ public enum ErrorCode {
     PHONE_ALREADY_EXISTS("PHONE_ALREADY_EXISTS", "Phone Number Already Exists", BAD_REQUEST),
     PASSWORD_MISMATCH("PASSWORD_MISMATCH", "Password do not Match", BAD_REQUEST),
     ERR_USER_DISABLED("ERR_USER_DISABLED", "User is disabled", UNAUTHORIZED),
+    ERR_USER_LOCKED("ERR_USER_LOCKED", "Account is locked after too many failed logins", UNAUTHORIZED),
+    TOO_MANY_LOGIN_ATTEMPTS("TOO_MANY_LOGIN_ATTEMPTS", "Too many login attempts, please retry later", TOO_MANY_REQUESTS),
     BAD_CREDENTIALS("BAD_CREDENTIALS", "Username and/or password is incorrect", UNAUTHORIZED),
     USERNAME_NOT_FOUND("USERNAME_NOT_FOUND", "Username not found", NOT_FOUND),
+    INVALID_TOKEN("INVALID_TOKEN", "Token is invalid or expired", UNAUTHORIZED),
+    INVALID_REFRESH_TOKEN("INVALID_REFRESH_TOKEN", "Refresh token is invalid or expired", UNAUTHORIZED),
+    REFRESH_TOKEN_REUSED("REFRESH_TOKEN_REUSED", "Refresh token was already used, please log in again", UNAUTHORIZED),
+    SERVICE_OVERLOADED("SERVICE_OVERLOADED", "Service is overloaded, please retry shortly", SERVICE_UNAVAILABLE),
+    PASSWORD_HASHING_BUSY("PASSWORD_HASHING_BUSY", "Too many concurrent requests, please retry shortly", SERVICE_UNAVAILABLE),
     INTERNAL_EXCEPTION("INTERNAL_EXCEPTION", "An internal server error occurred", INTERNAL_SERVER_ERROR);
 
     private final String code;
@@ -1,11 +1,14 @@
 package com.alibou.app.exceptions;
 
+import com.alibou.app.security.InvalidTokenException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -34,8 +37,30 @@ public class GlobalExceptionHandler {
         log.info("Business Exception: {}", ex.getMessage());
         log.debug(ex.getMessage());
 
-        return ResponseEntity.status(ex.getErrorCode()
-                .getStatus() !=null ? ex.getErrorCode().getStatus() : BAD_REQUEST)
+        final ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getErrorCode()
+                .getStatus() !=null ? ex.getErrorCode().getStatus() : BAD_REQUEST);
+        if (ex.getErrorCode().getStatus() == SERVICE_UNAVAILABLE){
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        } else if (ex.getErrorCode().getStatus() == TOO_MANY_REQUESTS){
+            response.header(HttpHeaders.RETRY_AFTER, "60");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Tokens posted to the auth endpoints (refresh, logout); stackless and expected, so no stack trace is logged.
+     */
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTokenException(final InvalidTokenException exception){
+
+        log.debug("Rejected token: {}", exception.getMessage());
+
+        final ErrorResponse body = ErrorResponse.builder()
+                .errorCode(INVALID_TOKEN.getCode())
+                .errorMessage(INVALID_TOKEN.getDefault_message())
+                .build();
+
+        return ResponseEntity.status(UNAUTHORIZED)
                 .body(body);
     }
 
@@ -51,6 +76,18 @@ public class GlobalExceptionHandler {
                 .body(body);
     }
 
+    @ExceptionHandler(LockedException.class)
+    public ResponseEntity<ErrorResponse> handleLockedException(final LockedException exception){
+
+        final ErrorResponse body = ErrorResponse.builder()
+                .errorCode(ERR_USER_LOCKED.getCode())
+                .errorMessage(ERR_USER_LOCKED.getDefault_message())
+                .build();
+
+        return ResponseEntity.status(UNAUTHORIZED)
+                .body(body);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException( final BadCredentialsException exception){
 
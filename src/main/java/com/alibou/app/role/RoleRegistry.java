@@ -0,0 +1,51 @@
+package com.alibou.app.role;
+
+import com.alibou.app.config.CacheConfig;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Resolves role names to ids from the {@value CacheConfig#ROLES} cache, warmed at startup, and hands out
+ * JPA references so linking a role to a user never selects or re-saves the role.
+ */
+@Component
+public class RoleRegistry {
+
+    public static final String ROLE_USER = "ROLE_USER";
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    private final RoleRepository roleRepository;
+    private final Cache cache;
+
+    public RoleRegistry(final RoleRepository roleRepository,
+                        final CacheManager cacheManager) {
+        this.roleRepository = roleRepository;
+        this.cache = cacheManager.getCache(CacheConfig.ROLES);
+    }
+
+    public void register(final Role role) {
+        this.cache.put(role.getName(), role.getId());
+    }
+
+    public UUID getRoleId(final String name) {
+        final UUID cached = this.cache.get(name, UUID.class);
+        if (cached != null) {
+            return cached;
+        }
+        final Role role = this.roleRepository.findByName(name)
+                .orElseThrow(() -> new EntityNotFoundException("Role " + name + " does not exist"));
+        register(role);
+        return role.getId();
+    }
+
+    /**
+     * Must be called inside a transaction; the returned proxy is never initialised unless a getter is used.
+     */
+    public Role getReference(final String name) {
+        return this.roleRepository.getReferenceById(getRoleId(name));
+    }
+}
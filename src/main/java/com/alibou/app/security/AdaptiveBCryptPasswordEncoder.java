@@ -0,0 +1,92 @@
+package com.alibou.app.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt encoder whose cost is picked at startup: the highest strength in {@code [minStrength, maxStrength]}
+ * whose hash time on this host stays within {@code targetLatency}. Hashes with a lower cost report
+ * {@link #upgradeEncoding(String)} so they are re-hashed on the next successful login; stronger hashes, e.g. from
+ * a faster node or an earlier calibration, are never weakened.
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final String CALIBRATION_PASSWORD = "calibration-Passw0rd!";
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    @Getter
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBCryptPasswordEncoder(final Duration targetLatency,
+                                         final int minStrength,
+                                         final int maxStrength) {
+        this.strength = calibrate(targetLatency, minStrength, maxStrength);
+        this.delegate = new BCryptPasswordEncoder(this.strength);
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return this.delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return this.delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        final int cost = costOf(encodedPassword);
+        return cost > 0 && cost < this.strength;
+    }
+
+    /**
+     * BCrypt hashes look like {@code $2a$10$...}; the two digits after the version are the cost.
+     */
+    private static int costOf(final String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        final int costStart = encodedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 > encodedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword, costStart, costStart + 2, 10);
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int calibrate(final Duration targetLatency, final int minStrength, final int maxStrength) {
+        final long targetNanos = targetLatency.toNanos();
+        int chosen = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            final long nanos = measure(new BCryptPasswordEncoder(candidate));
+            log.debug("BCrypt strength {} takes {} ms on this host", candidate, nanos / 1_000_000);
+            if (nanos > targetNanos) {
+                break;
+            }
+            chosen = candidate;
+        }
+        log.info("Using BCrypt strength {} for a target hash latency of {} ms", chosen, targetLatency.toMillis());
+        return chosen;
+    }
+
+    private static long measure(final BCryptPasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD); // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            final long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,80 @@
+package com.alibou.app.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit: the number of requests allowed in flight grows by one per limit-worth of fast
+ * completions while the limit is actually in use, and is cut by {@code backoffRatio} when a request is slow or
+ * fails. When the database slows down, the limit shrinks and excess requests are refused at once instead of
+ * queueing on server threads. Lock-free: the in-flight count and the limit are each updated by CAS.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // The limit as a double (stored as its bits), so additive increase can be 1/limit per completion
+    private final AtomicLong limitBits;
+
+    public AdaptiveConcurrencyLimiter(final int initialLimit,
+                                      final int minLimit,
+                                      final int maxLimit,
+                                      final long latencyThresholdNanos,
+                                      final double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(
+                Math.min(maxLimit, Math.max(minLimit, initialLimit))));
+    }
+
+    public boolean tryAcquire() {
+        final int limit = getLimit();
+        while (true) {
+            final int current = this.inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param latencyNanos how long the request took
+     * @param failed       whether it ended with an exception or a server error
+     */
+    public void release(final long latencyNanos, final boolean failed) {
+        final int inFlightBefore = this.inFlight.getAndDecrement();
+        final boolean overloaded = failed || latencyNanos > this.latencyThresholdNanos;
+        while (true) {
+            final long bits = this.limitBits.get();
+            final double limit = Double.longBitsToDouble(bits);
+            final double next;
+            if (overloaded) {
+                next = Math.max(this.minLimit, limit * this.backoffRatio);
+            } else if (inFlightBefore * 2 >= limit) {
+                next = Math.min(this.maxLimit, limit + 1.0 / limit);
+            } else {
+                // Far below the limit, so a fast request says nothing about whether a higher limit would be safe
+                return;
+            }
+            if (next == limit || this.limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(this.limitBits.get());
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+}
@@ -1,12 +1,12 @@
 package com.alibou.app.security;
 
-import com.alibou.app.user.User;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Optional;
+import java.util.UUID;
 
 public class ApplicationAuditorAware implements AuditorAware<String> { //should return ID of the user
 
@@ -21,8 +21,8 @@ public class ApplicationAuditorAware implements AuditorAware<String> { //should
         {
             return Optional.empty();
         }
-        final User user = (User) authentication.getPrincipal();
-        return Optional.ofNullable(user.getId());
+        final UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        return Optional.ofNullable(user.getId()).map(UUID::toString);
     }
 
 }
@@ -0,0 +1,121 @@
+package com.alibou.app.security;
+
+import com.alibou.app.config.ConcurrencyLimitProperties;
+import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.exceptions.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * First filter of the security chain: admits a request only if its endpoint group is under its
+ * {@link AdaptiveConcurrencyLimiter} limit, and otherwise sheds it with 503 and {@code Retry-After} before any
+ * authentication, hashing or database work. Exposes {@code http.server.concurrency.limit},
+ * {@code http.server.concurrency.in-flight} and {@code http.server.concurrency.rejected}, tagged by group.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<LimitedGroup> groups = new ArrayList<>();
+
+    public ConcurrencyLimitFilter(final ConcurrencyLimitProperties properties,
+                                  final ObjectMapper objectMapper,
+                                  final MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        properties.getGroups().forEach((name, group) -> {
+            final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    group.getInitialLimit(),
+                    group.getMinLimit(),
+                    group.getMaxLimit(),
+                    group.getLatencyThreshold().toNanos(),
+                    group.getBackoffRatio());
+            Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("group", name)
+                    .register(meterRegistry);
+            final Counter rejected = Counter.builder("http.server.concurrency.rejected")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            this.groups.add(new LimitedGroup(group.getPathPrefix(), limiter, rejected));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return !this.enabled || this.groups.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull
+            final HttpServletRequest request,
+            @NonNull
+            final HttpServletResponse response,
+            @NonNull
+            final FilterChain filterChain) throws ServletException, IOException {
+
+        final LimitedGroup group = groupFor(request.getServletPath());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!group.limiter().tryAcquire()) {
+            group.rejected().increment();
+            reject(response);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            group.limiter().release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private LimitedGroup groupFor(final String path) {
+        for (final LimitedGroup group : this.groups) {
+            if (path.startsWith(group.pathPrefix())) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void reject(final HttpServletResponse response) throws IOException {
+        final ErrorCode errorCode = ErrorCode.SERVICE_OVERLOADED;
+        response.setStatus(errorCode.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .errorCode(errorCode.getCode())
+                .errorMessage(errorCode.getDefault_message())
+                .build());
+    }
+
+    private record LimitedGroup(String pathPrefix, AdaptiveConcurrencyLimiter limiter, Counter rejected) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.alibou.app.security;
+
+/**
+ * A bearer token that was rejected. Thrown from preallocated instances without a stack trace or cause, so
+ * rejecting garbage or expired tokens costs no allocation and no stack walk: the reason is all a caller needs.
+ */
+public final class InvalidTokenException extends RuntimeException {
+
+    public static final InvalidTokenException MALFORMED = new InvalidTokenException("Malformed token");
+    public static final InvalidTokenException INVALID = new InvalidTokenException("Invalid token");
+    public static final InvalidTokenException EXPIRED = new InvalidTokenException("Expired token");
+    public static final InvalidTokenException REVOKED = new InvalidTokenException("Revoked token");
+
+    private InvalidTokenException(final String message) {
+        super(message, null, false, false);
+    }
+}
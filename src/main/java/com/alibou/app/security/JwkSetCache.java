@@ -0,0 +1,116 @@
+package com.alibou.app.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The public keys of the {@link JwtKeyRing} as a serialized JWK Set (RFC 7517) plus its strong ETag.
+ * Built once per key-ring version; every request in between gets the same bytes.
+ */
+@Component
+public class JwkSetCache {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    // X.509 SubjectPublicKeyInfo of an Ed25519 key is a fixed 12-byte prefix followed by the raw 32-byte key
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private final JwtKeyRing keyRing;
+    private final ObjectMapper objectMapper;
+    private volatile JwkSet current;
+
+    public JwkSetCache(final JwtKeyRing keyRing, final ObjectMapper objectMapper) {
+        this.keyRing = keyRing;
+        this.objectMapper = objectMapper;
+    }
+
+    public JwkSet get() {
+        final long version = this.keyRing.getVersion();
+        JwkSet jwkSet = this.current;
+        if (jwkSet == null || jwkSet.version() != version) {
+            jwkSet = build(version);
+            this.current = jwkSet;
+        }
+        return jwkSet;
+    }
+
+    private JwkSet build(final long version) {
+        final List<Map<String, Object>> keys = this.keyRing.getKeys().stream()
+                .map(JwkSetCache::toJwk)
+                .toList();
+        try {
+            final byte[] json = this.objectMapper.writeValueAsBytes(Map.of("keys", keys));
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return new JwkSet(version, json, BASE64_URL.encodeToString(hash));
+        } catch (final JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not build the JWK set", e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(final JwtKey key) {
+        final Map<String, Object> jwk = new LinkedHashMap<>();
+        final PublicKey publicKey = key.publicKey();
+        switch (key.algorithm()) {
+            case RS256 -> {
+                final RSAPublicKey rsa = (RSAPublicKey) publicKey;
+                jwk.put("kty", "RSA");
+                jwk.put("n", BASE64_URL.encodeToString(unsigned(rsa.getModulus(), 0)));
+                jwk.put("e", BASE64_URL.encodeToString(unsigned(rsa.getPublicExponent(), 0)));
+            }
+            case ES256, ES384, ES512 -> {
+                final ECPublicKey ec = (ECPublicKey) publicKey;
+                // Coordinates are the full field length, e.g. 66 bytes for P-521 (RFC 7518 6.2.1.2)
+                final int coordinateLength = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                jwk.put("kty", "EC");
+                jwk.put("crv", switch (key.algorithm()) {
+                    case ES384 -> "P-384";
+                    case ES512 -> "P-521";
+                    default -> "P-256";
+                });
+                jwk.put("x", BASE64_URL.encodeToString(unsigned(ec.getW().getAffineX(), coordinateLength)));
+                jwk.put("y", BASE64_URL.encodeToString(unsigned(ec.getW().getAffineY(), coordinateLength)));
+            }
+            case EdDSA -> {
+                final byte[] encoded = publicKey.getEncoded();
+                jwk.put("kty", "OKP");
+                jwk.put("crv", "Ed25519");
+                jwk.put("x", BASE64_URL.encodeToString(
+                        Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length)));
+            }
+        }
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().name());
+        return jwk;
+    }
+
+    /**
+     * Big-endian magnitude without the sign byte, left-padded with zeros to {@code length} when it is positive.
+     */
+    private static byte[] unsigned(final BigInteger value, final int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            final byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return bytes;
+    }
+
+    public record JwkSet(long version, byte[] json, String etag) {}
+}
@@ -0,0 +1,53 @@
+package com.alibou.app.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.Getter;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+
+/**
+ * Signature algorithms tokens can be issued with, selected by {@code app.security.jwt.algorithm}.
+ * {@code keyAlgorithm} is the JCA {@link java.security.KeyFactory} name used to read the PEM key material.
+ */
+@Getter
+public enum JwtAlgorithm {
+
+    RS256("RSA", Jwts.SIG.RS256),
+    ES256("EC", Jwts.SIG.ES256),
+    ES384("EC", Jwts.SIG.ES384),
+    ES512("EC", Jwts.SIG.ES512),
+    EdDSA("Ed25519", Jwts.SIG.EdDSA);
+
+    private final String keyAlgorithm;
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    JwtAlgorithm(final String keyAlgorithm,
+                 final SignatureAlgorithm signatureAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public static JwtAlgorithm of(final PublicKey publicKey) {
+        return switch (publicKey.getAlgorithm()) {
+            case "RSA" -> RS256;
+            case "EC" -> ofCurve((ECPublicKey) publicKey);
+            case "EdDSA", "Ed25519" -> EdDSA;
+            default -> throw new IllegalArgumentException("Unsupported key algorithm: " + publicKey.getAlgorithm());
+        };
+    }
+
+    /**
+     * Each ECDSA algorithm is bound to one curve (RFC 7518 3.4); P-256, P-384 and P-521 are told apart by field size.
+     */
+    private static JwtAlgorithm ofCurve(final ECPublicKey publicKey) {
+        final int fieldSize = publicKey.getParams().getCurve().getField().getFieldSize();
+        return switch (fieldSize) {
+            case 256 -> ES256;
+            case 384 -> ES384;
+            case 521 -> ES512;
+            default -> throw new IllegalArgumentException("Unsupported EC curve with a " + fieldSize + "-bit field");
+        };
+    }
+}
@@ -1,15 +1,20 @@
 package com.alibou.app.security;
 
-import io.jsonwebtoken.JwtException;
+import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.exceptions.ErrorResponse;
+import com.alibou.app.token.TokenRevocationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -18,14 +23,44 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final long REJECTION_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PublicRoutes publicRoutes;
+    // Every rejection gets the same body, so it is serialized once
+    private final byte[] invalidTokenBody;
+    private final AtomicLong nextRejectionLog = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedRejections = new AtomicLong();
+
+    public JwtFilter(final JwtService jwtService,
+                     final UserDetailsService userDetailsService,
+                     final TokenRevocationService tokenRevocationService,
+                     final PublicRoutes publicRoutes,
+                     final ObjectMapper objectMapper) throws JsonProcessingException {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.publicRoutes = publicRoutes;
+        this.invalidTokenBody = objectMapper.writeValueAsBytes(ErrorResponse.builder()
+                .errorCode(ErrorCode.INVALID_TOKEN.getCode())
+                .errorMessage(ErrorCode.INVALID_TOKEN.getDefault_message())
+                .build());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return this.publicRoutes.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -36,14 +71,9 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull
             final FilterChain filterChain) throws ServletException, IOException {
 
-        if (request.getServletPath().contains("/api/v1/auth")){
-            filterChain.doFilter(request, response);
-            return;
-        }
-
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION); //HttpHeaders from spring framework not java.net
         final String jwt;
-        final String username;
+        final VerifiedToken token;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")){
             filterChain.doFilter(request, response);
@@ -52,27 +82,78 @@ public class JwtFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            username = this.jwtService.extractUsername(jwt);
-        } catch (JwtException e) {
-            log.warn("Invalid JWT token: {}", e.getMessage());
-            filterChain.doFilter(request, response);
+            token = this.jwtService.verify(jwt);
+        } catch (final InvalidTokenException e) {
+            reject(response, e);
             return;
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        // Both checks are answered from node-local memory that scheduled syncs keep current, so a stateless request
+        // never waits on the database; a revocation or token version bump made on another node applies here
+        // within one sync interval
+        if (this.tokenRevocationService.isRevoked(token) || this.jwtService.isSuperseded(token)){
+            reject(response, InvalidTokenException.REVOKED);
+            return;
+        }
 
-            if (this.jwtService.isTokenValid(jwt, userDetails.getUsername())){
-                final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null){
+            if (this.jwtService.isStateless() && token.isSelfContained()){
+                if (token.isAccessToken() && !token.isExpired()){
+                    authenticate(request, token, new TokenPrincipal(token.userId(), token.subject()), token.authorities());
+                }
+            } else {
+                final UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (this.jwtService.isTokenValid(token, userDetails.getUsername())){
+                    authenticate(request, token, userDetails, userDetails.getAuthorities());
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Answers 401 right here instead of letting the request continue unauthenticated, so a flood of bad tokens
+     * costs one preallocated exception and a fixed body per request.
+     */
+    private void reject(final HttpServletResponse response,
+                        final InvalidTokenException reason) throws IOException {
+        logRejection(reason);
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(this.invalidTokenBody.length);
+        response.getOutputStream().write(this.invalidTokenBody);
+    }
+
+    /**
+     * At most one line per interval, with the number of rejections it stands for.
+     */
+    private void logRejection(final InvalidTokenException reason) {
+        final long now = System.nanoTime();
+        final long next = this.nextRejectionLog.get();
+        if (now - next >= 0 && this.nextRejectionLog.compareAndSet(next, now + REJECTION_LOG_INTERVAL_NANOS)) {
+            log.warn("Rejected bearer token: {} ({} more rejected since the last report)",
+                    reason.getMessage(), this.suppressedRejections.getAndSet(0));
+        } else {
+            this.suppressedRejections.incrementAndGet();
+        }
+    }
+
+    /**
+     * The verified token is kept as the credentials so the request can later revoke the token it came with.
+     */
+    private void authenticate(final HttpServletRequest request,
+                              final VerifiedToken token,
+                              final Object principal,
+                              final Collection<? extends GrantedAuthority> authorities) {
+        final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal, token, authorities
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
 
 //Tell me about SecurityContextHolder
@@ -0,0 +1,14 @@
+package com.alibou.app.security;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * A key pair identified by {@code kid}, which is written to the header of every token it signs so that
+ * verification can pick the matching public key directly.
+ */
+public record JwtKey(String kid,
+                     JwtAlgorithm algorithm,
+                     PrivateKey privateKey,
+                     PublicKey publicKey) {
+}
@@ -0,0 +1,114 @@
+package com.alibou.app.security;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * One active signing key plus every key still accepted for verification, indexed by {@code kid}.
+ * Readers see an immutable snapshot swapped atomically on reload, so lookups are a single map read with no locking.
+ *
+ * <p>A key-ring directory holds {@code <kid>.public.pem} for every key, {@code <kid>.private.pem} for keys that
+ * may sign, and optionally an {@code active-kid} file naming the signing key; without it the greatest kid
+ * that has a private key signs.</p>
+ */
+public class JwtKeyRing {
+
+    private static final String PUBLIC_SUFFIX = ".public.pem";
+    private static final String PRIVATE_SUFFIX = ".private.pem";
+    private static final String ACTIVE_KID_FILE = "active-kid";
+
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(final JwtKey signingKey, final Collection<JwtKey> verificationKeys) {
+        replace(signingKey, verificationKeys);
+    }
+
+    public static JwtKeyRing fromDirectory(final Path directory) throws Exception {
+        final Snapshot loaded = load(directory);
+        return new JwtKeyRing(loaded.signingKey(), loaded.keysByKid().values());
+    }
+
+    public void reloadFrom(final Path directory) throws Exception {
+        final Snapshot loaded = load(directory);
+        replace(loaded.signingKey(), loaded.keysByKid().values());
+    }
+
+    public void replace(final JwtKey signingKey, final Collection<JwtKey> verificationKeys) {
+        final Map<String, JwtKey> keysByKid = new HashMap<>();
+        verificationKeys.forEach(key -> keysByKid.put(key.kid(), key));
+        keysByKid.put(signingKey.kid(), signingKey);
+        this.snapshot = new Snapshot(signingKey, Map.copyOf(keysByKid), this.versions.incrementAndGet());
+    }
+
+    public JwtKey getSigningKey() {
+        return this.snapshot.signingKey();
+    }
+
+    /**
+     * @return the key with this id, or {@code null} if it is not (or no longer) in the ring
+     */
+    public JwtKey findKey(final String kid) {
+        return this.snapshot.keysByKid().get(kid);
+    }
+
+    public Collection<JwtKey> getKeys() {
+        return this.snapshot.keysByKid().values();
+    }
+
+    /**
+     * Increases on every change, so derived data (for example the JWKS document) can tell when to rebuild.
+     */
+    public long getVersion() {
+        return this.snapshot.version();
+    }
+
+    private static Snapshot load(final Path directory) throws Exception {
+        final List<Path> publicKeys;
+        try (final Stream<Path> files = Files.list(directory)) {
+            publicKeys = files.filter(file -> file.getFileName().toString().endsWith(PUBLIC_SUFFIX)).toList();
+        }
+
+        final Map<String, JwtKey> keysByKid = new HashMap<>();
+        for (final Path publicKeyFile : publicKeys) {
+            final String fileName = publicKeyFile.getFileName().toString();
+            final String kid = fileName.substring(0, fileName.length() - PUBLIC_SUFFIX.length());
+            final PublicKey publicKey = KeyUtils.loadPublicKey(publicKeyFile);
+            final JwtAlgorithm algorithm = JwtAlgorithm.of(publicKey);
+
+            final Path privateKeyFile = directory.resolve(kid + PRIVATE_SUFFIX);
+            final PrivateKey privateKey = Files.exists(privateKeyFile)
+                    ? KeyUtils.loadPrivateKey(privateKeyFile, algorithm.getKeyAlgorithm())
+                    : null;
+            keysByKid.put(kid, new JwtKey(kid, algorithm, privateKey, publicKey));
+        }
+
+        final JwtKey signingKey = keysByKid.get(activeKid(directory, keysByKid));
+        if (signingKey == null || signingKey.privateKey() == null) {
+            throw new IllegalStateException("No signing key with a private key in " + directory);
+        }
+        return new Snapshot(signingKey, keysByKid, 0);
+    }
+
+    private static String activeKid(final Path directory, final Map<String, JwtKey> keysByKid) throws Exception {
+        final Path activeKidFile = directory.resolve(ACTIVE_KID_FILE);
+        if (Files.exists(activeKidFile)) {
+            return Files.readString(activeKidFile).trim();
+        }
+        return keysByKid.values().stream()
+                .filter(key -> key.privateKey() != null)
+                .map(JwtKey::kid)
+                .max(String::compareTo)
+                .orElse(null);
+    }
+
+    private record Snapshot(JwtKey signingKey, Map<String, JwtKey> keysByKid, long version) {}
+}
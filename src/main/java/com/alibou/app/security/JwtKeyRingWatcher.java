@@ -0,0 +1,99 @@
+package com.alibou.app.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Reloads the {@link JwtKeyRing} whenever a file in the key-ring directory changes, so keys can be rotated
+ * without a restart. A reload that fails (half-written file, bad PEM) keeps the current ring.
+ */
+@Slf4j
+public class JwtKeyRingWatcher implements InitializingBean, DisposableBean {
+
+    // Rotations usually touch several files; wait for them to settle and reload once
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    private final JwtKeyRing keyRing;
+    private final Path directory;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public JwtKeyRingWatcher(final JwtKeyRing keyRing,
+                             final Path directory,
+                             final VerifiedTokenCache verifiedTokenCache) {
+        this.keyRing = keyRing;
+        this.directory = directory;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        this.watchService = this.directory.getFileSystem().newWatchService();
+        this.directory.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        this.thread = Thread.ofPlatform()
+                .daemon()
+                .name("jwt-key-ring-watcher")
+                .start(this::watch);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        this.thread.interrupt();
+        this.watchService.close();
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = this.watchService.take();
+                Thread.sleep(DEBOUNCE_MILLIS);
+                key.pollEvents();
+                // A key that cannot be reset no longer delivers events, e.g. after the directory was replaced
+                if (!key.reset() && !reregister()) {
+                    return;
+                }
+                reload();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private boolean reregister() {
+        try {
+            this.directory.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            log.warn("Watch on JWT key ring directory {} was invalidated, registered it again", this.directory);
+            return true;
+        } catch (final IOException e) {
+            log.error("Stopped watching JWT key ring directory {}, keeping the current keys", this.directory, e);
+            return false;
+        }
+    }
+
+    private void reload() {
+        try {
+            this.keyRing.reloadFrom(this.directory);
+            // Tokens verified with a key that has just been removed must be verified again
+            this.verifiedTokenCache.clear();
+            log.info("Reloaded JWT key ring from {}: signing kid {}, {} verification keys",
+                    this.directory, this.keyRing.getSigningKey().kid(), this.keyRing.getKeys().size());
+        } catch (final Exception e) {
+            log.error("Could not reload JWT key ring from {}, keeping the current keys", this.directory, e);
+        }
+    }
+}
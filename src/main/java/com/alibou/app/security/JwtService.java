@@ -1,33 +1,70 @@
 package com.alibou.app.security;
 
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.user.User;
+import com.alibou.app.user.UserEpochCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import org.springframework.beans.factory.annotation.Qualifier;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
     private static final String TOKEN_TYPE = "token_type";
-    private final PrivateKey privateKey;
-    private final PublicKey publicKey;
+    private static final String USER_ID = "uid";
+    private static final String AUTHORITIES = "authorities";
+    private static final String TOKEN_VERSION = "ver";
+    // Far above any token we issue; longer input is rejected before it is hashed or parsed
+    private static final int MAX_TOKEN_LENGTH = 8192;
+    // The fixed claims each token type starts from; immutable, so one instance serves every token of that type
+    private static final Map<String, Object> ACCESS_TOKEN_CLAIMS = Map.of(TOKEN_TYPE, VerifiedToken.ACCESS_TOKEN);
+    private static final Map<String, Object> REFRESH_TOKEN_CLAIMS = Map.of(TOKEN_TYPE, VerifiedToken.REFRESH_TOKEN);
+    private final JwtKeyRing keyRing;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserEpochCache userEpochCache;
+    // Immutable and thread-safe, so it is built once instead of per token
+    private final JwtParser jwtParser;
+    // Resolved once per signing key of the ring rather than once per token, see signer()
+    private volatile Signer signer;
 
     @Value("${app.security.jwt.access-token-expiration}") //what does this annotation do? How does it know the value is in my .properties file, i haven't explicitly defined this
     private long accessTokenExpiration;
     @Value("${app.security.jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
+    // When on, access tokens carry the user id and authorities and JwtFilter trusts them without loading the user
+    @Value("${app.security.jwt.stateless:false}")
+    private boolean stateless;
 
-    public JwtService(@Qualifier("jwtPrivateKey") PrivateKey privateKey,
-                      @Qualifier("jwtPublicKey") PublicKey publicKey) {
-        this.privateKey = privateKey;
-        this.publicKey = publicKey;
+    public JwtService(JwtKeyRing keyRing,
+                      VerifiedTokenCache verifiedTokenCache,
+                      UserEpochCache userEpochCache) {
+        this.keyRing = keyRing;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userEpochCache = userEpochCache;
+        // The key is looked up by the token's kid header (one map read), and the header's alg must match its type
+        this.jwtParser = Jwts.parser()
+                .keyLocator(header -> header instanceof ProtectedHeader protectedHeader
+                        ? verificationKey(protectedHeader.getKeyId())
+                        : null)
+                .build();
     }
 
     /*
@@ -38,64 +75,190 @@ public class JwtService {
     }
      */
 
-    public String generateAccessToken(final String username){
-        final Map<String, Object> claims = Map.of(TOKEN_TYPE, "ACCESS_TOKEN");
-        return buildToken(username, claims, this.accessTokenExpiration);
+    public String generateAccessToken(final User user){
+        // The jti is what a revocation targets, see TokenRevocationService
+        final JwtBuilder builder = newToken(user, ACCESS_TOKEN_CLAIMS, this.accessTokenExpiration)
+                .id(UUID.randomUUID().toString());
+        if (this.stateless){
+            builder.claim(USER_ID, user.getId().toString())
+                    .claim(AUTHORITIES, user.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList());
+        }
+        return builder.compact();
     }
     
-   public String generateRefreshToken(final String username){
-        final Map<String, Object> claims = Map.of(TOKEN_TYPE, "REFRESH_TOKEN");
-        return buildToken(username, claims, this.refreshTokenExpiration);
+    /**
+     * @param tokenId the {@code jti}, under which the refresh token is recorded server-side for rotation
+     */
+   public String generateRefreshToken(final User user, final String tokenId){
+        return newToken(user, REFRESH_TOKEN_CLAIMS, this.refreshTokenExpiration)
+                .id(tokenId)
+                .compact();
+    }
+
+    public long getRefreshTokenExpiration() {
+        return this.refreshTokenExpiration;
     }
 
-    private String buildToken(final String username,
-                              final Map<String, Object> claims,
-                              final long expiration) {
+    /**
+     * The token carries the version of {@code user} as loaded by the caller, the state the login or refresh was
+     * checked against, rather than a possibly stale cached epoch.
+     */
+    private JwtBuilder newToken(final User user,
+                                final Map<String, Object> claimsTemplate,
+                                final long expiration) {
+        final Signer signer = signer();
+        final long now = System.currentTimeMillis();
         return Jwts.builder()
-                .claims(claims)
-                .subject(username)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(privateKey)
-                .compact();
+                .header().keyId(signer.kid()).and()
+                .claims(claimsTemplate)
+                .claim(TOKEN_VERSION, user.getTokenVersion())
+                .subject(user.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signer.privateKey(), signer.algorithm());
+    }
+
+    /**
+     * The signing half of the pipeline, rebuilt only when the key ring switches to another signing key. A racing
+     * rebuild after a rotation is harmless: both threads build the same value from the same key.
+     */
+    private Signer signer() {
+        final JwtKey signingKey = this.keyRing.getSigningKey();
+        Signer current = this.signer;
+        if (current == null || current.key() != signingKey) {
+            current = new Signer(signingKey, signingKey.kid(), signingKey.privateKey(),
+                    signingKey.algorithm().getSignatureAlgorithm());
+            this.signer = current;
+        }
+        return current;
     }
 
-   public boolean isTokenValid(final String token, final String expectedUsername){
-        final String username = extractUsername(token);
-        return username.equals(expectedUsername) && !isTokenExpired(token);
-   }
+    /**
+     * Tokens issued before key ids were added carry no kid; they can only have been signed by the current key.
+     */
+    private PublicKey verificationKey(final String kid) {
+        final JwtKey key = kid != null ? this.keyRing.findKey(kid) : this.keyRing.getSigningKey();
+        return key != null ? key.publicKey() : null;
+    }
 
-    private boolean isTokenExpired(final String token) {
-        return extractClaims(token).getExpiration()
-                .before(new Date());
+    public boolean isStateless() {
+        return this.stateless;
     }
 
-    public String extractUsername(final String token) {
-        return extractClaims(token).getSubject();
+    /**
+     * Single entry point for reading a token: checks the signature (once per distinct token, see
+     * {@link VerifiedTokenCache}) and returns its claims. Callers check expiry and type on the result.
+     *
+     * @throws InvalidTokenException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(final String token) {
+        if (!isWellFormed(token)) {
+            throw InvalidTokenException.MALFORMED;
+        }
+        final VerifiedToken cached = this.verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        final VerifiedToken verified = toVerifiedToken(extractClaims(token));
+        this.verifiedTokenCache.put(token, verified);
+        return verified;
+    }
+
+    /**
+     * Whether {@code token} may authenticate a request as {@code expectedUsername}: only unexpired access tokens
+     * qualify, never refresh tokens.
+     */
+    public boolean isTokenValid(final VerifiedToken token, final String expectedUsername){
+        return token.isAccessToken() && token.subject().equals(expectedUsername) && !token.isExpired();
+    }
+
+    /**
+     * Whether the token was issued before the user's current token epoch, i.e. before a password change or
+     * deactivation that invalidated all earlier tokens.
+     */
+    public boolean isSuperseded(final VerifiedToken token){
+        return token.subject() != null && this.userEpochCache.isSuperseded(token.subject(), token.tokenVersion());
     }
 
     private Claims extractClaims(final String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(this.publicKey)
-                    .build()
+            return this.jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
-        } catch (final JwtException e){
-            throw new RuntimeException("Invalid JWT token", e);
+        } catch (final ExpiredJwtException e){
+            throw InvalidTokenException.EXPIRED;
+        } catch (final JwtException | IllegalArgumentException e){
+            throw InvalidTokenException.INVALID;
         }
     }
 
-    public String refreshAccessToken(final String refreshToken){
-        final Claims claims = extractClaims(refreshToken);
-        if (!"REFRESH_TOKEN".equals(claims.get(TOKEN_TYPE))){
-            throw new RuntimeException("Invalid Token Type");
+    /**
+     * Structural check of a compact JWS done before any hashing or crypto: bounded length, three non-empty
+     * segments and nothing outside the base64url alphabet.
+     */
+    private static boolean isWellFormed(final String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return false;
         }
-        if (isTokenExpired(refreshToken)){
-            throw new RuntimeException("Refresh Token Expired");
+        int dots = 0;
+        char previous = '.';
+        for (int i = 0; i < token.length(); i++) {
+            final char c = token.charAt(i);
+            if (c == '.') {
+                if (previous == '.' || ++dots > 2) {
+                    return false;
+                }
+            } else if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_')) {
+                return false;
+            }
+            previous = c;
+        }
+        return dots == 2 && previous != '.';
+    }
+
+    private static VerifiedToken toVerifiedToken(final Claims claims) {
+        final Date issuedAt = claims.getIssuedAt();
+        final Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(TOKEN_TYPE, String.class),
+                claims.getId(),
+                toTokenVersion(claims.get(TOKEN_VERSION)),
+                toUserId(claims.get(USER_ID, String.class)),
+                toAuthorities(claims.get(AUTHORITIES)),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE
+        );
+    }
+
+    private static UUID toUserId(final String claim) {
+        return claim != null ? UUID.fromString(claim) : null;
+    }
+
+    private static int toTokenVersion(final Object claim) {
+        return claim instanceof Number version ? version.intValue() : 0;
+    }
+
+    private static List<GrantedAuthority> toAuthorities(final Object claim) {
+        if (!(claim instanceof Collection<?> names)) {
+            return List.of();
+        }
+        return names.stream()
+                .<GrantedAuthority>map(name -> new SimpleGrantedAuthority(name.toString()))
+                .toList();
+    }
+
+    public String refreshAccessToken(final VerifiedToken refreshToken, final User user){
+        if (!refreshToken.isRefreshToken()
+                || refreshToken.isExpired()
+                || refreshToken.tokenVersion() < user.getTokenVersion()){
+            throw new BusinessException(ErrorCode.INVALID_REFRESH_TOKEN);
         }
-        final String username = claims.getSubject();
-        return generateAccessToken(username);
+        return generateAccessToken(user);
     }
 
+    private record Signer(JwtKey key, String kid, PrivateKey privateKey, SignatureAlgorithm algorithm) {}
 }
@@ -0,0 +1,98 @@
+package com.alibou.app.security;
+
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Brute-force protection for the login endpoint, applied before any password is hashed: a rate limit per
+ * client address (checked by {@link LoginThrottleFilter}), a rate limit per email (checked by the login
+ * service once the body is read) and a count of failures per email after which the account is locked for
+ * {@code lock-duration}. Failures are counted in a fixed window that opens at the first failure and lasts
+ * {@code failure-window}; reaching the limit starts a new count. All state is in memory, per node, with bounded size.
+ */
+@Component
+public class LoginThrottle {
+
+    private final RateLimiter clientLimiter;
+    private final RateLimiter emailLimiter;
+    private final Cache<String, AtomicInteger> failures;
+    private final int maxFailures;
+    private final Duration lockDuration;
+
+    public LoginThrottle(@Value("${app.security.login-throttle.client.permits-per-minute:30}")
+                         final int clientPermitsPerMinute,
+                         @Value("${app.security.login-throttle.client.burst:10}")
+                         final int clientBurst,
+                         @Value("${app.security.login-throttle.email.permits-per-minute:5}")
+                         final int emailPermitsPerMinute,
+                         @Value("${app.security.login-throttle.email.burst:5}")
+                         final int emailBurst,
+                         @Value("${app.security.login-throttle.max-failures:10}")
+                         final int maxFailures,
+                         @Value("${app.security.login-throttle.failure-window:15m}")
+                         final Duration failureWindow,
+                         @Value("${app.security.login-throttle.lock-duration:15m}")
+                         final Duration lockDuration,
+                         @Value("${app.security.login-throttle.maximum-keys:100000}")
+                         final long maximumKeys) {
+        this.clientLimiter = new RateLimiter(clientPermitsPerMinute, clientBurst, maximumKeys);
+        this.emailLimiter = new RateLimiter(emailPermitsPerMinute, emailBurst, maximumKeys);
+        this.maxFailures = maxFailures;
+        this.lockDuration = lockDuration;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterWrite(failureWindow)
+                .build();
+    }
+
+    public boolean tryAcquireForClient(final String clientAddress) {
+        return this.clientLimiter.tryAcquire(clientAddress);
+    }
+
+    public long secondsUntilClientPermit(final String clientAddress) {
+        return this.clientLimiter.secondsUntilNextPermit(clientAddress);
+    }
+
+    public void checkEmail(final String email) {
+        if (email != null && !this.emailLimiter.tryAcquire(key(email))) {
+            throw new BusinessException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+    }
+
+    /**
+     * @return whether this failure reached the limit and the account should be locked
+     */
+    public boolean recordFailure(final String email) {
+        if (email == null) {
+            return false;
+        }
+        final String key = key(email);
+        final int count = this.failures.get(key, k -> new AtomicInteger()).incrementAndGet();
+        if (count < this.maxFailures) {
+            return false;
+        }
+        // Start over so that the next maxFailures failures lock the account again once this lock has expired
+        this.failures.invalidate(key);
+        return true;
+    }
+
+    public Duration getLockDuration() {
+        return this.lockDuration;
+    }
+
+    public void recordSuccess(final String email) {
+        this.failures.invalidate(key(email));
+    }
+
+    private static String key(final String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,66 @@
+package com.alibou.app.security;
+
+import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.exceptions.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects login attempts from a client address that exceeded its rate with 429, before the request reaches
+ * the authentication manager and its password hashing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/v1/auth/login";
+
+    private final LoginThrottle loginThrottle;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !LOGIN_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull
+            final HttpServletRequest request,
+            @NonNull
+            final HttpServletResponse response,
+            @NonNull
+            final FilterChain filterChain) throws ServletException, IOException {
+
+        final String clientAddress = request.getRemoteAddr();
+        if (this.loginThrottle.tryAcquireForClient(clientAddress)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("Throttled login attempt from {}", clientAddress);
+        final ErrorCode errorCode = ErrorCode.TOO_MANY_LOGIN_ATTEMPTS;
+        response.setStatus(errorCode.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, this.loginThrottle.secondsUntilClientPermit(clientAddress))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .errorCode(errorCode.getCode())
+                .errorMessage(errorCode.getDefault_message())
+                .build());
+    }
+}
@@ -0,0 +1,121 @@
+package com.alibou.app.security;
+
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the expensive part of password hashing (encode and matches) on a dedicated pool of platform threads
+ * with a bounded queue. When the queue is full the request fails fast with a 503 instead of piling more
+ * CPU-bound work onto the servlet threads.
+ * <p>
+ * The calling thread still waits for the result, but never longer than {@code maxWait}: past that it gets the
+ * same 503 and the hash is cancelled, so a backlog ties up each servlet thread for a bounded time. A login that
+ * times out has to be retried, even if its hash would have finished a moment later. With virtual threads
+ * enabled the wait parks a virtual thread instead of holding a platform one, and the bound then only caps latency.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final long maxWaitNanos;
+
+    public OffloadingPasswordEncoder(final PasswordEncoder delegate,
+                                     final int threads,
+                                     final int queueCapacity,
+                                     final Duration maxWait,
+                                     final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = Timer.builder("password.hashing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("password.hashing.timed.out")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.size", this.executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", this.executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return submit(() -> this.encodeTimer.recordCallable(() -> this.delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return submit(() -> this.matchesTimer.recordCallable(() -> this.delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+    }
+
+    private <T> T submit(final Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = this.executor.submit(task);
+        } catch (final RejectedExecutionException e) {
+            this.rejected.increment();
+            throw new BusinessException(ErrorCode.PASSWORD_HASHING_BUSY);
+        }
+        try {
+            return future.get(this.maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            this.timedOut.increment();
+            future.cancel(true);
+            // A cancelled task would still hold its queue slot until a worker reached it
+            this.executor.remove((Runnable) future);
+            throw new BusinessException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.alibou.app.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The single list of endpoints reachable without a token, used both for authorization in {@link SecurityConfig}
+ * and by {@link JwtFilter} to skip token handling. Compiled once into an exact-match set plus a character trie
+ * of {@code /**} prefixes, so a lookup costs one hash probe and one walk over the path, without allocating.
+ */
+@Component
+public class PublicRoutes implements RequestMatcher {
+
+    /**
+     * A pattern is either an exact path or a path ending in {@code /**}, which also matches everything below it.
+     */
+    public static final List<String> PATTERNS = List.of(
+            "/api/v1/auth/login",
+            "/api/v1/auth/register",
+            "/api/v1/auth/refresh",
+            "/api/v1/auth/logout",
+            "/.well-known/jwks.json",
+            // Liveness and readiness probes carry no token; details are never shown, see application.properties
+            "/actuator/health",
+            "/actuator/health/**",
+            "/v2/api-docs",
+            "/v3/api-docs",
+            "/v3/api-docs/**",
+            "/swagger-resources",
+            "/swagger-resources/**",
+            "/configuration/ui",
+            "/configuration/security",
+            "/swagger-ui/**",
+            "/webjars/**",
+            "/swagger-ui.html"
+    );
+
+    private static final String ANY_BELOW = "/**";
+
+    private final Set<String> exactPaths = new HashSet<>();
+    private final Node prefixes = new Node();
+
+    public PublicRoutes() {
+        for (final String pattern : PATTERNS) {
+            if (pattern.endsWith(ANY_BELOW)) {
+                this.prefixes.insert(pattern.substring(0, pattern.length() - ANY_BELOW.length()));
+            } else if (pattern.contains("*")) {
+                throw new IllegalArgumentException("Only exact paths and '/**' suffixes are supported: " + pattern);
+            } else {
+                this.exactPaths.add(pattern);
+            }
+        }
+    }
+
+    @Override
+    public boolean matches(final HttpServletRequest request) {
+        final String pathInfo = request.getPathInfo();
+        return isPublic(pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo);
+    }
+
+    public boolean isPublic(final String path) {
+        return this.exactPaths.contains(path) || this.prefixes.matchesPrefixOf(path);
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean prefixEnd;
+
+        void insert(final String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            node.prefixEnd = true;
+        }
+
+        /**
+         * True if a registered prefix equals {@code path} or is followed in it by a {@code /}, so that
+         * {@code /webjars/**} matches {@code /webjars/x} but not {@code /webjarsx}.
+         */
+        boolean matchesPrefixOf(final String path) {
+            Node node = this;
+            for (int i = 0; i < path.length(); i++) {
+                if (node.prefixEnd && path.charAt(i) == '/') {
+                    return true;
+                }
+                node = node.child(path.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.prefixEnd;
+        }
+
+        private Node child(final char key) {
+            for (int i = 0; i < this.keys.length; i++) {
+                if (this.keys[i] == key) {
+                    return this.children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(final char key) {
+            final Node existing = child(key);
+            if (existing != null) {
+                return existing;
+            }
+            final Node created = new Node();
+            this.keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+            this.children = Arrays.copyOf(this.children, this.children.length + 1);
+            this.keys[this.keys.length - 1] = key;
+            this.children[this.children.length - 1] = created;
+            return created;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.alibou.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token bucket in its GCRA form: each key holds a single {@link AtomicLong} with the theoretical arrival
+ * time of the next request, and a permit is taken with one CAS, so no key is ever locked. Keys live in a
+ * bounded Caffeine map and are evicted once idle for longer than it takes a bucket to refill.
+ */
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param permitsPerMinute sustained rate
+     * @param burst            how many requests may arrive at once after a key has been quiet
+     * @param maximumKeys      bound on the number of tracked keys
+     */
+    public RateLimiter(final int permitsPerMinute, final int burst, final long maximumKeys) {
+        this(permitsPerMinute, burst, maximumKeys, System::nanoTime);
+    }
+
+    RateLimiter(final int permitsPerMinute, final int burst, final long maximumKeys, final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.burstToleranceNanos = this.emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(this.emissionIntervalNanos + this.burstToleranceNanos))
+                .build();
+    }
+
+    public boolean tryAcquire(final String key) {
+        final AtomicLong bucket = this.buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        final long now = this.nanoClock.getAsLong();
+        while (true) {
+            final long arrival = bucket.get();
+            final long earliest = arrival == Long.MIN_VALUE || arrival - now < 0 ? now : arrival;
+            if (earliest - now > this.burstToleranceNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, earliest + this.emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Seconds until {@code key} gets its next permit, for a {@code Retry-After} header.
+     */
+    public long secondsUntilNextPermit(final String key) {
+        final AtomicLong bucket = this.buckets.getIfPresent(key);
+        if (bucket == null || bucket.get() == Long.MIN_VALUE) {
+            return 0;
+        }
+        final long waitNanos = bucket.get() - this.burstToleranceNanos - this.nanoClock.getAsLong();
+        return waitNanos <= 0 ? 0 : TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+    }
+}
@@ -1,6 +1,9 @@
 package com.alibou.app.security;
 
+import com.alibou.app.config.ConcurrencyLimitProperties;
+import com.alibou.app.role.RoleRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -10,40 +13,34 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
 public class SecurityConfig {
 
-    private static final String[] PUBLIC_URLS = {
-                "/api/v1/auth/login",
-                "/api/v1/auth/register",
-                "/api/v1/auth/refresh",
-                "/v2/api-docs",
-                "/v3/api-docs",
-                "/v3/api-docs/**",
-                "/swagger-resources",
-                "/swagger-resources/**",
-                "/configuration/ui",
-                "/configuration/security",
-                "/swagger-ui/**",
-                "/webjars/**",
-                "/swagger-ui.html"
-    };
-
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
     private final JwtFilter jwtFilter;
+    private final LoginThrottleFilter loginThrottleFilter;
+    private final PublicRoutes publicRoutes;
 
     @Bean
     public SecurityFilterChain filterChain(final HttpSecurity http) throws Exception{
 
         return http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers(PUBLIC_URLS).permitAll()
+                        auth.requestMatchers(this.publicRoutes).permitAll()
+                                // Health is public (see PublicRoutes); metrics describe every user's traffic
+                                .requestMatchers("/actuator/**").hasAuthority(RoleRegistry.ROLE_ADMIN)
                                 .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Ahead of every other filter, so shed requests cost nothing beyond the rejection itself
+                .addFilterBefore(this.concurrencyLimitFilter, DisableEncodeUrlFilter.class)
+                .addFilterBefore(this.loginThrottleFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(this.jwtFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
@@ -0,0 +1,21 @@
+package com.alibou.app.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.UUID;
+
+/**
+ * Lightweight principal built straight from the claims of a stateless access token, no database lookup involved.
+ */
+public record TokenPrincipal(UUID id, String username) implements UserPrincipal, AuthenticatedPrincipal {
+
+    @Override
+    public UUID getId() {
+        return this.id;
+    }
+
+    @Override
+    public String getName() {
+        return this.username;
+    }
+}
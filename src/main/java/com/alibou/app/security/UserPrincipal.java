@@ -0,0 +1,12 @@
+package com.alibou.app.security;
+
+import java.util.UUID;
+
+/**
+ * What the rest of the app needs from the authenticated principal, whether it is the full {@code User}
+ * entity or a {@link TokenPrincipal} built from a stateless access token.
+ */
+public interface UserPrincipal {
+
+    UUID getId();
+}
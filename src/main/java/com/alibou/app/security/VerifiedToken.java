@@ -0,0 +1,41 @@
+package com.alibou.app.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The claims of a token whose signature has been checked by {@link JwtService#verify(String)}.
+ * Times are epoch milliseconds so expiry checks never allocate. {@code userId} and {@code authorities}
+ * are only present on access tokens issued in stateless mode. {@code tokenVersion} is the user's token epoch at
+ * issue time (0 for tokens issued before epochs existed).
+ */
+public record VerifiedToken(String subject,
+                            String tokenType,
+                            String tokenId,
+                            int tokenVersion,
+                            UUID userId,
+                            List<GrantedAuthority> authorities,
+                            long issuedAt,
+                            long expiresAt) {
+
+    public static final String ACCESS_TOKEN = "ACCESS_TOKEN";
+    public static final String REFRESH_TOKEN = "REFRESH_TOKEN";
+
+    public boolean isExpired() {
+        return this.expiresAt <= System.currentTimeMillis();
+    }
+
+    public boolean isAccessToken() {
+        return ACCESS_TOKEN.equals(this.tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH_TOKEN.equals(this.tokenType);
+    }
+
+    public boolean isSelfContained() {
+        return this.userId != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.alibou.app.security;
+
+import com.alibou.app.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Keeps the {@link VerifiedToken} of tokens whose signature has already been verified, keyed by a SHA-256
+ * digest of the compact token, so a hot bearer token is RSA-verified once instead of on every call.
+ * Backed by the {@value CacheConfig#VERIFIED_TOKENS} cache, whose entries never outlive the token's own {@code exp}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache cache;
+
+    public VerifiedTokenCache(final CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.VERIFIED_TOKENS);
+    }
+
+    public VerifiedToken get(final String token) {
+        final VerifiedToken cached = this.cache.get(digest(token), VerifiedToken.class);
+        return cached != null && !cached.isExpired() ? cached : null;
+    }
+
+    public void put(final String token, final VerifiedToken verifiedToken) {
+        this.cache.put(digest(token), verifiedToken);
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    private static String digest(final String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.alibou.app.token;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} hashes the characters in place (64-bit FNV-1a,
+ * split into two halves for double hashing), so a negative answer allocates nothing. Bits are never cleared;
+ * callers rebuild a fresh filter when entries should be dropped.
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(final long bitCount, final int hashCount) {
+        final int words = (int) Math.max(1, (bitCount + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sizes the filter so that {@code expectedInsertions} entries give a false-positive rate of about
+     * {@code falsePositiveRate}.
+     */
+    public static BloomFilter create(final int expectedInsertions, final double falsePositiveRate) {
+        final long n = Math.max(1, expectedInsertions);
+        final double ln2 = Math.log(2);
+        final long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        final int k = Math.max(1, (int) Math.round((double) m / n * ln2));
+        return new BloomFilter(m, k);
+    }
+
+    public void put(final String value) {
+        final long hash = hash(value);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < this.hashCount; i++) {
+            final long bit = index(h1 + i * h2);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long current;
+            do {
+                current = this.bits.get(word);
+            } while ((current & mask) == 0 && !this.bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(final String value) {
+        final long hash = hash(value);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < this.hashCount; i++) {
+            final long bit = index(h1 + i * h2);
+            if ((this.bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(final int combinedHash) {
+        return (combinedHash & 0x7fffffffL) % this.bitCount;
+    }
+
+    private static long hash(final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,65 @@
+package com.alibou.app.token;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Server-side record of an issued refresh token, keyed by its {@code jti}. Every rotation of a login stays in
+ * the same {@code familyId}, so presenting an already-rotated token revokes the whole family.
+ */
+@Entity
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "ix_refresh_tokens_family_id", columnList = "family_id"),
+                @Index(name = "ix_refresh_tokens_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(name = "jti", nullable = false, updatable = false)
+    private String jti;
+
+    @Column(name = "family_id", nullable = false, updatable = false)
+    private String familyId;
+
+    @Column(name = "username", nullable = false, updatable = false)
+    private String username;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Instant expiresAt;
+
+    @Column(name = "rotated_at")
+    private Instant rotatedAt;
+
+    @Column(name = "is_revoked", nullable = false)
+    private boolean revoked;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String getId() {
+        return this.jti;
+    }
+
+    // The jti is assigned by us, so without this save() would merge (select, then insert) instead of persist
+    @Override
+    public boolean isNew() {
+        return this.createdAt == null;
+    }
+}
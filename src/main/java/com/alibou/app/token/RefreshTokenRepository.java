@@ -0,0 +1,34 @@
+package com.alibou.app.token;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Claims the token for a single rotation; returns 0 when it was already rotated or revoked.
+     */
+    @Modifying
+    @Query("""
+            update RefreshToken t set t.rotatedAt = :now
+            where t.jti = :jti and t.rotatedAt is null and t.revoked = false and t.expiresAt > :now
+            """)
+    int markRotated(@Param("jti") String jti, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE jti IN (SELECT jti FROM refresh_tokens WHERE expires_at < :now LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
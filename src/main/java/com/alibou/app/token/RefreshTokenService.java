@@ -0,0 +1,25 @@
+package com.alibou.app.token;
+
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.user.User;
+
+public interface RefreshTokenService {
+
+    /**
+     * Issues the first refresh token of a new login (a new token family).
+     */
+    String issue(User user);
+
+    /**
+     * Consumes {@code refreshToken} and returns its successor in the same family, issued under the current token
+     * version of {@code user}. Presenting a token that was already rotated revokes the family.
+     */
+    String rotate(VerifiedToken refreshToken, User user);
+
+    /**
+     * Revokes the whole family of {@code refreshToken}, as on logout.
+     */
+    void revoke(VerifiedToken refreshToken);
+
+    void purgeExpired();
+}
@@ -0,0 +1,60 @@
+package com.alibou.app.token;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * An access token killed before its {@code exp}. Rows are only needed until that {@code exp}, after which
+ * the token is rejected anyway and the row is purged.
+ */
+@Entity
+@Table(
+        name = "revoked_tokens",
+        indexes = {
+                @Index(name = "ux_revoked_tokens_seq", columnList = "seq", unique = true),
+                @Index(name = "ix_revoked_tokens_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken implements Persistable<String> {
+
+    @Id
+    @Column(name = "jti", nullable = false, updatable = false)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private Instant revokedAt;
+
+    // Assigned by the database on insert; the cursor of each node's incremental sync
+    @Column(name = "seq", insertable = false, updatable = false)
+    private Long seq;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return this.jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return this.isNew;
+    }
+
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.alibou.app.token;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Revocations inserted after sequence {@code afterSeq} that still matter, for the incremental sync of each node.
+     */
+    @Query("""
+            select t from RevokedToken t
+            where t.seq > :afterSeq and t.expiresAt > :now
+            order by t.seq
+            """)
+    List<RevokedToken> findActiveRevokedAfter(@Param("afterSeq") long afterSeq, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM revoked_tokens
+            WHERE jti IN (SELECT jti FROM revoked_tokens WHERE expires_at < :now LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,22 @@
+package com.alibou.app.token;
+
+import com.alibou.app.security.VerifiedToken;
+
+public interface TokenRevocationService {
+
+    /**
+     * Rejects {@code token} from now on, on this node immediately and on the others after their next sync.
+     */
+    void revoke(VerifiedToken token);
+
+    /**
+     * Revokes the access token the current request was authenticated with, if any.
+     */
+    void revokeCurrentAccessToken();
+
+    boolean isRevoked(VerifiedToken token);
+
+    void sync();
+
+    void purgeExpired();
+}
@@ -0,0 +1,116 @@
+package com.alibou.app.token.impl;
+
+import com.alibou.app.common.UuidV7;
+import com.alibou.app.config.CacheConfig;
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.token.RefreshToken;
+import com.alibou.app.token.RefreshTokenRepository;
+import com.alibou.app.token.RefreshTokenService;
+import com.alibou.app.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    // jtis already known to be dead, so replays are rejected without touching the database
+    private final Cache rejectedTokens;
+
+    @Value("${app.security.refresh-token.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public RefreshTokenServiceImpl(final RefreshTokenRepository refreshTokenRepository,
+                                   final JwtService jwtService,
+                                   final CacheManager cacheManager) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.rejectedTokens = cacheManager.getCache(CacheConfig.REJECTED_REFRESH_TOKENS);
+    }
+
+    @Override
+    @Transactional
+    public String issue(final User user) {
+        return issue(user, UuidV7.next().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BusinessException.class) // a detected reuse must still commit the family revocation
+    public String rotate(final VerifiedToken refreshToken, final User user) {
+        final String jti = refreshToken.tokenId();
+        if (jti == null || this.rejectedTokens.get(jti) != null) {
+            throw new BusinessException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+
+        if (this.refreshTokenRepository.markRotated(jti, Instant.now()) == 1) {
+            final RefreshToken current = this.refreshTokenRepository.getReferenceById(jti);
+            return issue(user, current.getFamilyId());
+        }
+
+        this.rejectedTokens.put(jti, Boolean.TRUE);
+        final RefreshToken stored = this.refreshTokenRepository.findById(jti)
+                .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_REFRESH_TOKEN));
+        if (stored.getRotatedAt() != null && !stored.isRevoked()) {
+            this.refreshTokenRepository.revokeFamily(stored.getFamilyId());
+            log.warn("Refresh token {} of {} was reused, revoked token family {}",
+                    jti, stored.getUsername(), stored.getFamilyId());
+            throw new BusinessException(ErrorCode.REFRESH_TOKEN_REUSED);
+        }
+        throw new BusinessException(ErrorCode.INVALID_REFRESH_TOKEN);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(final VerifiedToken refreshToken) {
+        if (refreshToken.tokenId() == null) {
+            return;
+        }
+        this.refreshTokenRepository.findById(refreshToken.tokenId())
+                .ifPresent(stored -> this.refreshTokenRepository.revokeFamily(stored.getFamilyId()));
+        this.rejectedTokens.put(refreshToken.tokenId(), Boolean.TRUE);
+    }
+
+    /**
+     * Deletes expired rows in bounded batches, each in its own short transaction, so the purge never holds
+     * long locks and request threads never delete anything.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.refresh-token.purge-interval:PT1H}")
+    public void purgeExpired() {
+        final Instant now = Instant.now();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = this.refreshTokenRepository.deleteExpiredBatch(now, this.purgeBatchSize);
+            purged += deleted;
+        } while (deleted == this.purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    // Time-ordered jtis keep refresh_tokens inserts at the right edge of its primary-key index
+    private String issue(final User user, final String familyId) {
+        final String jti = UuidV7.next().toString();
+        final String token = this.jwtService.generateRefreshToken(user, jti);
+        this.refreshTokenRepository.save(RefreshToken.builder()
+                .jti(jti)
+                .familyId(familyId)
+                .username(user.getUsername())
+                .expiresAt(Instant.now().plusMillis(this.jwtService.getRefreshTokenExpiration()))
+                .build());
+        return token;
+    }
+}
@@ -0,0 +1,181 @@
+package com.alibou.app.token.impl;
+
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.token.BloomFilter;
+import com.alibou.app.token.RevokedToken;
+import com.alibou.app.token.RevokedTokenRepository;
+import com.alibou.app.token.TokenRevocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps a node-local mirror of {@code revoked_tokens}: a Bloom filter in front of an exact map of
+ * {@code jti -> exp}. Almost every token is not revoked, and for those the filter answers without allocating
+ * or touching the map. The mirror is updated incrementally from the table and rebuilt, without expired
+ * entries, when the purge runs, so its size follows the number of revocations within one access-token lifetime.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    // Sequence values are assigned at insert but become visible at commit, possibly out of order, so a value is
+    // only trusted as the sync cursor once it has been seen for this long (measured on this node's monotonic clock)
+    private static final long SYNC_OVERLAP_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final int purgeBatchSize;
+    private volatile Mirror mirror;
+    // Guards replacing the mirror. revoke() takes it on request threads, so it is a lock rather than synchronized:
+    // on JDK 21 a virtual thread blocked entering a monitor pins its carrier thread
+    private final Lock mirrorLock = new ReentrantLock();
+    // Sync cursor state, only touched by the scheduled sync
+    private long syncedSeq;
+    private long pendingSeq;
+    private long pendingSince = System.nanoTime();
+
+    public TokenRevocationServiceImpl(final RevokedTokenRepository revokedTokenRepository,
+                                      @Value("${app.security.revocation.expected-revocations:10000}")
+                                      final int expectedRevocations,
+                                      @Value("${app.security.revocation.purge-batch-size:1000}")
+                                      final int purgeBatchSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.purgeBatchSize = purgeBatchSize;
+        this.mirror = new Mirror(BloomFilter.create(expectedRevocations, FALSE_POSITIVE_RATE),
+                new ConcurrentHashMap<>(), expectedRevocations);
+    }
+
+    @Override
+    public void revoke(final VerifiedToken token) {
+        if (token.tokenId() == null || token.isExpired() || isRevoked(token)) {
+            return;
+        }
+        final Instant expiresAt = Instant.ofEpochMilli(token.expiresAt());
+        add(token.tokenId(), token.expiresAt());
+        try {
+            this.revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(token.tokenId())
+                    .expiresAt(expiresAt)
+                    .revokedAt(Instant.now())
+                    .build());
+        } catch (final DataIntegrityViolationException e) {
+            log.debug("Token {} was already revoked by another node", token.tokenId());
+        }
+    }
+
+    @Override
+    public void revokeCurrentAccessToken() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof VerifiedToken token) {
+            revoke(token);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(final VerifiedToken token) {
+        final String jti = token.tokenId();
+        if (jti == null) {
+            return false;
+        }
+        final Mirror current = this.mirror;
+        if (!current.filter().mightContain(jti)) {
+            return false;
+        }
+        final Long expiresAt = current.revoked().get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval:PT1S}")
+    public void sync() {
+        final List<RevokedToken> revokedTokens = this.revokedTokenRepository
+                .findActiveRevokedAfter(this.syncedSeq, Instant.now());
+        long highestSeq = this.pendingSeq;
+        for (final RevokedToken revokedToken : revokedTokens) {
+            add(revokedToken.getJti(), revokedToken.getExpiresAt().toEpochMilli());
+            highestSeq = Math.max(highestSeq, revokedToken.getSeq());
+        }
+        // Rows above syncedSeq are re-read until the overlap has passed, catching lower values committed late
+        final long nanoNow = System.nanoTime();
+        if (nanoNow - this.pendingSince >= SYNC_OVERLAP_NANOS) {
+            this.syncedSeq = this.pendingSeq;
+            this.pendingSeq = highestSeq;
+            this.pendingSince = nanoNow;
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval:PT5M}")
+    public void purgeExpired() {
+        final Instant now = Instant.now();
+        int deleted;
+        do {
+            deleted = this.revokedTokenRepository.deleteExpiredBatch(now, this.purgeBatchSize);
+        } while (deleted == this.purgeBatchSize);
+        rebuild();
+    }
+
+    private void add(final String jti, final long expiresAt) {
+        this.mirrorLock.lock();
+        try {
+            final Mirror current = this.mirror;
+            if (current.revoked().size() >= current.capacity() && !current.revoked().containsKey(jti)) {
+                // Past its sizing the filter's false-positive rate climbs, so grow it before adding more
+                this.mirror = rebuilt(current, current.capacity() * 2);
+            }
+            this.mirror.revoked().put(jti, expiresAt);
+            this.mirror.filter().put(jti);
+        } finally {
+            this.mirrorLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        final int before;
+        final int after;
+        this.mirrorLock.lock();
+        try {
+            final Mirror current = this.mirror;
+            before = current.revoked().size();
+            this.mirror = rebuilt(current, this.expectedRevocations);
+            after = this.mirror.revoked().size();
+        } finally {
+            this.mirrorLock.unlock();
+        }
+        if (before != after) {
+            log.debug("Dropped {} expired revocations, {} remain", before - after, after);
+        }
+    }
+
+    private static Mirror rebuilt(final Mirror current, final int capacity) {
+        final long now = System.currentTimeMillis();
+        final Map<String, Long> revoked = new ConcurrentHashMap<>();
+        current.revoked().forEach((jti, expiresAt) -> {
+            if (expiresAt > now) {
+                revoked.put(jti, expiresAt);
+            }
+        });
+        final int sized = Math.max(capacity, revoked.size() * 2);
+        final BloomFilter filter = BloomFilter.create(sized, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(filter::put);
+        return new Mirror(filter, revoked, sized);
+    }
+
+    private record Mirror(BloomFilter filter, Map<String, Long> revoked, int capacity) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.alibou.app.user;
+
+import com.alibou.app.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Short-lived cache of loaded users in front of {@code loadUserByUsername}, so authenticated requests do not hit
+ * the database. Backed by the {@value CacheConfig#USERS} cache: its {@code expire-after-write} bounds how long a
+ * change made on another node (for example disabling an account) can go unnoticed; changes made on this node
+ * evict immediately.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache cache;
+
+    public PrincipalCache(final CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.USERS);
+    }
+
+    public User get(final String email) {
+        return this.cache.get(key(email), User.class);
+    }
+
+    public void put(final User user) {
+        this.cache.put(key(user.getEmail()), user);
+    }
+
+    public void invalidate(final String email) {
+        if (email != null) {
+            this.cache.evict(key(email));
+        }
+    }
+
+    private static String key(final String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
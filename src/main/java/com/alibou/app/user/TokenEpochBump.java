@@ -0,0 +1,41 @@
+package com.alibou.app.user;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A user's token version moving up, published so that every node raises its {@link UserEpochCache} entry.
+ * Rows are only needed for one access-token lifetime, after which every token issued before the bump has
+ * expired anyway and the row is purged.
+ */
+@Entity
+@Table(
+        name = "token_epoch_bumps",
+        indexes = {
+                @Index(name = "ix_token_epoch_bumps_bumped_at", columnList = "bumped_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenEpochBump {
+
+    // Assigned by the database on insert; the cursor of each node's incremental sync
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Long seq;
+
+    @Column(name = "email", nullable = false, updatable = false)
+    private String email;
+
+    @Column(name = "token_version", nullable = false, updatable = false)
+    private int tokenVersion;
+
+    @Column(name = "bumped_at", nullable = false, updatable = false)
+    private Instant bumpedAt;
+}
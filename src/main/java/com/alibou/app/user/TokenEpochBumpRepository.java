@@ -0,0 +1,27 @@
+package com.alibou.app.user;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenEpochBumpRepository extends JpaRepository<TokenEpochBump, Long> {
+
+    /**
+     * Bumps inserted after sequence {@code afterSeq}, for the incremental sync of each node.
+     */
+    @Query("select b from TokenEpochBump b where b.seq > :afterSeq order by b.seq")
+    List<TokenEpochBump> findBumpedAfter(@Param("afterSeq") long afterSeq);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM token_epoch_bumps
+            WHERE seq IN (SELECT seq FROM token_epoch_bumps WHERE bumped_at < :before LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteBumpedBeforeBatch(@Param("before") Instant before, @Param("batchSize") int batchSize);
+}
@@ -1,8 +1,11 @@
 package com.alibou.app.user;
 
+import com.alibou.app.common.GeneratedUuidV7;
 import com.alibou.app.role.Role;
+import com.alibou.app.security.UserPrincipal;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,6 +18,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Entity
 @Table(name = "users")
@@ -24,11 +28,15 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
-public class User implements UserDetails {
+public class User implements UserDetails, UserPrincipal {
+
+    // Names of the unique constraints behind registration's duplicate checks (see db/migration)
+    public static final String EMAIL_UNIQUE_INDEX = "ux_users_email_lower";
+    public static final String PHONE_NUMBER_UNIQUE_CONSTRAINT = "uk_users_phone_number";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
 
     @Column(name = "first_name", nullable = false)
     private String firstName;
@@ -36,7 +44,8 @@ public class User implements UserDetails {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column(name = "email", nullable = false, unique = true)
+    // Unique case-insensitively, through the lower(email) index rather than a column constraint
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Column(name = "phone_number", nullable = false, unique = true)
@@ -54,6 +63,10 @@ public class User implements UserDetails {
     @Column(name = "is_account_locked")
     private boolean locked;
 
+    // Set by the login throttle after repeated failures; the account unlocks itself once this has passed
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
     @Column(name = "is_credentials_expired")
     private boolean credentialsExpired;
 
@@ -63,6 +76,11 @@ public class User implements UserDetails {
     @Column(name = "is_phone_verified")
     private boolean phoneVerified;
 
+    // Bumped whenever existing tokens must stop working; tokens carry the version they were issued under
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @ManyToMany(
             cascade = {CascadeType.PERSIST, CascadeType.MERGE},
             fetch = FetchType.EAGER
@@ -108,7 +126,7 @@ public class User implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return !this.locked;
+        return !this.locked && (this.lockedUntil == null || !this.lockedUntil.isAfter(LocalDateTime.now()));
     }
 
     @Override
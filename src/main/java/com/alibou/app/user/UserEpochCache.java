@@ -0,0 +1,131 @@
+package com.alibou.app.user;
+
+import com.alibou.app.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Current {@code tokenVersion} of each active user, which every token carries as its {@code ver} claim; a token
+ * whose version is older was issued before the user's credentials changed and is rejected. Backed by the
+ * {@value CacheConfig#USER_EPOCHS} cache, whose entries do not expire: checking a token never touches the
+ * database. Versions are pushed, not pulled. A bump is published to {@code token_epoch_bumps} in the transaction
+ * that made it, raised on this node once that has committed and on every other node by the next sync. A user
+ * with no entry has had no bump reach this node within one access-token lifetime, so the first token checked
+ * seeds the entry with its own version.
+ * <p>
+ * An entry dropped by the cache's {@code maximum-size} is seeded again the same way, so the cache must be sized
+ * for every user active within an access-token lifetime.
+ */
+@Component
+public class UserEpochCache {
+
+    // Same cursor scheme as the revocation sync: sequence values become visible at commit, possibly out of order
+    private static final long SYNC_OVERLAP_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final Cache cache;
+    private final UserRepository userRepository;
+    private final TokenEpochBumpRepository tokenEpochBumpRepository;
+    private final Duration retention;
+    private final int purgeBatchSize;
+    // Serializes raises so a lower version can never overwrite a higher one; checks do not take it
+    private final Lock raiseLock = new ReentrantLock();
+    // Sync cursor state, only touched by the scheduled sync
+    private long syncedSeq;
+    private long pendingSeq;
+    private long pendingSince = System.nanoTime();
+
+    public UserEpochCache(final CacheManager cacheManager,
+                          final UserRepository userRepository,
+                          final TokenEpochBumpRepository tokenEpochBumpRepository,
+                          @Value("${app.security.jwt.access-token-expiration}") final long accessTokenExpiration,
+                          @Value("${app.security.token-epochs.purge-batch-size:1000}") final int purgeBatchSize) {
+        this.cache = cacheManager.getCache(CacheConfig.USER_EPOCHS);
+        this.userRepository = userRepository;
+        this.tokenEpochBumpRepository = tokenEpochBumpRepository;
+        this.retention = Duration.ofMillis(accessTokenExpiration);
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * Whether a token of {@code email} carrying {@code tokenVersion} predates the user's current epoch.
+     */
+    public boolean isSuperseded(final String email, final int tokenVersion) {
+        final String key = key(email);
+        final Integer current = this.cache.get(key, Integer.class);
+        if (current == null) {
+            this.cache.putIfAbsent(key, tokenVersion);
+            return false;
+        }
+        return tokenVersion < current;
+    }
+
+    /**
+     * Publishes the bump of {@code userId}'s token version made by the current transaction, so that other nodes
+     * pick it up once it commits, and returns the new version. The caller raises this node's entry with it after
+     * commit, via {@link #raise}.
+     */
+    public int publishBump(final UUID userId, final String email) {
+        final int tokenVersion = this.userRepository.findTokenVersionById(userId)
+                .orElseThrow(() -> new IllegalStateException("No token version for user " + userId));
+        this.tokenEpochBumpRepository.save(TokenEpochBump.builder()
+                .email(key(email))
+                .tokenVersion(tokenVersion)
+                .bumpedAt(Instant.now())
+                .build());
+        return tokenVersion;
+    }
+
+    public void raise(final String email, final int tokenVersion) {
+        final String key = key(email);
+        this.raiseLock.lock();
+        try {
+            final Integer current = this.cache.get(key, Integer.class);
+            if (current == null || current < tokenVersion) {
+                this.cache.put(key, tokenVersion);
+            }
+        } finally {
+            this.raiseLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-epochs.sync-interval:PT1S}")
+    public void sync() {
+        final List<TokenEpochBump> bumps = this.tokenEpochBumpRepository.findBumpedAfter(this.syncedSeq);
+        long highestSeq = this.pendingSeq;
+        for (final TokenEpochBump bump : bumps) {
+            raise(bump.getEmail(), bump.getTokenVersion());
+            highestSeq = Math.max(highestSeq, bump.getSeq());
+        }
+        // Rows above syncedSeq are re-read until the overlap has passed, catching lower values committed late
+        final long nanoNow = System.nanoTime();
+        if (nanoNow - this.pendingSince >= SYNC_OVERLAP_NANOS) {
+            this.syncedSeq = this.pendingSeq;
+            this.pendingSeq = highestSeq;
+            this.pendingSince = nanoNow;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-epochs.purge-interval:PT5M}")
+    public void purgeExpired() {
+        final Instant before = Instant.now().minus(this.retention);
+        int deleted;
+        do {
+            deleted = this.tokenEpochBumpRepository.deleteBumpedBeforeBatch(before, this.purgeBatchSize);
+        } while (deleted == this.purgeBatchSize);
+    }
+
+    private static String key(final String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,14 +2,48 @@ package com.alibou.app.user;
 
 import com.alibou.app.role.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, UUID> {
 
-    boolean existsByEmailIgnoreCase(String email);
+    // Derived IgnoreCase queries compare upper(email); email lookups spell out lower() to match ux_users_email_lower
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
 
-    Optional<User> findByEmailIgnoreCase(String email);
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") UUID id);
 
-    boolean existsByPhoneNumber(String phoneNumber);
+    // Token version bumps are single atomic updates, so concurrent bumps cannot overwrite one another
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update User u
+            set u.password = :password, u.tokenVersion = u.tokenVersion + 1, u.updatedAt = :now
+            where u.id = :id
+            """)
+    int updatePasswordAndBumpTokenVersion(@Param("id") UUID id,
+                                          @Param("password") String password,
+                                          @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update User u
+            set u.enabled = false, u.tokenVersion = u.tokenVersion + 1, u.updatedAt = :now
+            where u.id = :id and u.enabled = true
+            """)
+    int deactivateAndBumpTokenVersion(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.lockedUntil = :until where lower(u.email) = lower(:email)")
+    int lockByEmailUntil(@Param("email") String email, @Param("until") LocalDateTime until);
 }
@@ -2,17 +2,34 @@ package com.alibou.app.user;
 
 import com.alibou.app.user.request.ChangePasswordRequest;
 import com.alibou.app.user.request.ProfileUpdateRequest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
-public interface UserService extends UserDetailsService {
+import java.time.Duration;
+import java.util.UUID;
 
-    void updateProfileInfo(ProfileUpdateRequest request, String userId);
+public interface UserService extends UserDetailsService, UserDetailsPasswordService {
 
-    void changePassword(ChangePasswordRequest request, String userId);
+    /**
+     * Like {@link #loadUserByUsername(String)} but always reads the stored row, bypassing the principal cache, so
+     * a password check sees the current hash and lock state even when another node changed them.
+     */
+    UserDetails loadCurrentUserByUsername(String userEmail);
 
-    void deactivateAccount(String userId);
+    void updateProfileInfo(ProfileUpdateRequest request, UUID userId);
 
-    void reactivateAccount(String userId);
+    void changePassword(ChangePasswordRequest request, UUID userId);
 
-    void deleteAccount(String userId);
+    void deactivateAccount(UUID userId);
+
+    void reactivateAccount(UUID userId);
+
+    /**
+     * Locks the account for {@code duration} after repeated failed logins; a locked account is refused before its
+     * password is checked, and unlocks itself once the duration has passed.
+     */
+    void lockAccount(String email, Duration duration);
+
+    void deleteAccount(UUID userId);
 }
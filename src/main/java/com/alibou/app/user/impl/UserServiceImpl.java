@@ -2,7 +2,10 @@ package com.alibou.app.user.impl;
 
 import com.alibou.app.exceptions.BusinessException;
 import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.token.TokenRevocationService;
+import com.alibou.app.user.PrincipalCache;
 import com.alibou.app.user.User;
+import com.alibou.app.user.UserEpochCache;
 import com.alibou.app.user.UserMapper;
 import com.alibou.app.user.UserRepository;
 import com.alibou.app.user.UserService;
@@ -14,6 +17,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -23,24 +34,63 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserEpochCache userEpochCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public UserDetails loadUserByUsername(final String userEmail) throws UsernameNotFoundException {
+        final User cached = this.principalCache.get(userEmail);
+        if (cached != null) {
+            return cached;
+        }
+        final User user = this.userRepository.findByEmailIgnoreCase(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with userEmail :" + userEmail));
+        this.principalCache.put(user);
+        return user;
+    }
+
+    @Override
+    public UserDetails loadCurrentUserByUsername(final String userEmail) {
         return this.userRepository.findByEmailIgnoreCase(userEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with userEmail :" + userEmail));
     }
 
+    /**
+     * Called by the authentication provider after a successful login when the stored hash's cost is below the
+     * encoder's current cost; {@code newPassword} is already encoded.
+     */
     @Override
-    public void updateProfileInfo(final ProfileUpdateRequest request, final String userId) {
+    @Transactional
+    public UserDetails updatePassword(final UserDetails user, final String newPassword) {
+        final User savedUser = this.userRepository.findByEmailIgnoreCase(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with userEmail :" + user.getUsername()));
+
+        savedUser.setPassword(newPassword);
+        this.userRepository.save(savedUser);
+        this.principalCache.invalidate(savedUser.getEmail());
+        log.debug("Re-hashed password of user {}", savedUser.getId());
+        return savedUser;
+    }
+
+    @Override
+    @Transactional
+    public void updateProfileInfo(final ProfileUpdateRequest request, final UUID userId) {
         final User savedUser = this.userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND, userId));
 
         this.userMapper.mergeUserInfo(savedUser, request);
         this.userRepository.save(savedUser);
+        this.principalCache.invalidate(savedUser.getEmail());
     }
 
+    /**
+     * Deliberately not transactional: both BCrypt calls run between the read and the write, so only the write and
+     * the publication of the token version bump share a transaction.
+     */
     @Override
-    public void changePassword(final ChangePasswordRequest request, final String userId) {
+    public void changePassword(final ChangePasswordRequest request, final UUID userId) {
 
         if (!request.getNewPassword().equals(request.getConfirmNewPassword())){
             throw new BusinessException(ErrorCode.CHANGE_PASSWORD_MISMATCH);
@@ -54,12 +104,19 @@ public class UserServiceImpl implements UserService {
         }
 
         final String encoded = this.passwordEncoder.encode(request.getNewPassword());
-        savedUser.setPassword(encoded);
-        this.userRepository.save(savedUser);
+        final int tokenVersion = this.transactionTemplate.execute(status -> {
+            if (this.userRepository.updatePasswordAndBumpTokenVersion(userId, encoded, LocalDateTime.now()) == 0) {
+                throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+            }
+            return this.userEpochCache.publishBump(userId, savedUser.getEmail());
+        });
+        updateCachedState(savedUser.getEmail(), tokenVersion);
+        this.tokenRevocationService.revokeCurrentAccessToken();
     }
 
     @Override
-    public void deactivateAccount(final String userId) {
+    @Transactional
+    public void deactivateAccount(final UUID userId) {
 
         final User user = this.userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
@@ -68,12 +125,17 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException(ErrorCode.ACCOUNT_ALREADY_DEACTIVATED);
         }
 
-        user.setEnabled(false);
-        this.userRepository.save(user);
+        if (this.userRepository.deactivateAndBumpTokenVersion(userId, LocalDateTime.now()) == 0) {
+            throw new BusinessException(ErrorCode.ACCOUNT_ALREADY_DEACTIVATED);
+        }
+        final int tokenVersion = this.userEpochCache.publishBump(userId, user.getEmail());
+        afterCommit(() -> updateCachedState(user.getEmail(), tokenVersion));
+        this.tokenRevocationService.revokeCurrentAccessToken();
     }
 
     @Override
-    public void reactivateAccount(final String userId) {
+    @Transactional
+    public void reactivateAccount(final UUID userId) {
 
         final User user = this.userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
@@ -84,10 +146,41 @@ public class UserServiceImpl implements UserService {
 
         user.setEnabled(true);
         this.userRepository.save(user);
+        this.principalCache.invalidate(user.getEmail());
+    }
+
+    @Override
+    public void lockAccount(final String email, final Duration duration) {
+        if (this.userRepository.lockByEmailUntil(email, LocalDateTime.now().plus(duration)) > 0) {
+            this.principalCache.invalidate(email);
+            log.warn("Locked account {} for {} after repeated failed logins", email, duration);
+        }
+    }
+
+    /**
+     * Caches are only touched once the new token version is committed; evicting earlier would let a concurrent
+     * read cache the old principal again.
+     */
+    private void updateCachedState(final String email, final int tokenVersion) {
+        this.principalCache.invalidate(email);
+        this.userEpochCache.raise(email, tokenVersion);
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Override
-    public void deleteAccount(final String userId) {
+    public void deleteAccount(final UUID userId) {
 
         //TODO : the logic is just to schedule a profile for deletion,
         // then the scheduled job will pick up the profiles and delete everything
@@ -0,0 +1,66 @@
+-- Schema as previously created by hibernate.ddl-auto=update. "if not exists" lets databases created that way
+-- adopt it unchanged (they are baselined at version 0, so this script still runs on them).
+
+create table if not exists roles
+(
+    id               varchar(255) not null,
+    name             varchar(255),
+    created_at       timestamp(6) not null,
+    updated_at       timestamp(6),
+    created_by       varchar(255) not null,
+    last_modified_by varchar(255),
+    constraint roles_pkey primary key (id)
+);
+
+create table if not exists users
+(
+    id                     varchar(255) not null,
+    first_name             varchar(255) not null,
+    last_name              varchar(255) not null,
+    email                  varchar(255) not null,
+    phone_number           varchar(255) not null,
+    password               varchar(255) not null,
+    date_of_birth          date,
+    is_enabled             boolean      not null,
+    is_account_locked      boolean      not null,
+    is_credentials_expired boolean      not null,
+    is_email_verified      boolean      not null,
+    is_phone_verified      boolean      not null,
+    token_version          integer      not null default 0,
+    created_at             timestamp(6) not null,
+    updated_at             timestamp(6),
+    constraint users_pkey primary key (id),
+    constraint uk_users_phone_number unique (phone_number)
+);
+
+create table if not exists users_roles
+(
+    users_id varchar(255) not null,
+    roles_id varchar(255) not null
+);
+
+create table if not exists refresh_tokens
+(
+    jti        varchar(255)                not null,
+    family_id  varchar(255)                not null,
+    username   varchar(255)                not null,
+    expires_at timestamp(6) with time zone not null,
+    rotated_at timestamp(6) with time zone,
+    is_revoked boolean                     not null,
+    created_at timestamp(6)                not null,
+    constraint refresh_tokens_pkey primary key (jti)
+);
+
+create index if not exists ix_refresh_tokens_family_id on refresh_tokens (family_id);
+create index if not exists ix_refresh_tokens_expires_at on refresh_tokens (expires_at);
+
+create table if not exists revoked_tokens
+(
+    jti        varchar(255)                not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null,
+    constraint revoked_tokens_pkey primary key (jti)
+);
+
+create index if not exists ix_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+create index if not exists ix_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,47 @@
+-- Every email lookup is case-insensitive (lower(email) = lower(?)), which a plain index on email cannot serve.
+-- This one also enforces case-insensitive uniqueness and covers the token-version lookup without a heap fetch.
+create unique index if not exists ux_users_email_lower on users (lower(email)) include (token_version);
+
+create unique index if not exists ux_roles_name on roles (name);
+
+-- users_roles was a bag without a key, so duplicate links were possible and every lookup was a scan
+delete
+from users_roles a
+    using users_roles b
+where a.ctid > b.ctid
+  and a.users_id = b.users_id
+  and a.roles_id = b.roles_id;
+
+alter table users_roles
+    add constraint users_roles_pkey primary key (users_id, roles_id);
+
+-- The primary key serves "roles of a user"; this serves "users of a role" from the index alone
+create index if not exists ix_users_roles_roles_id on users_roles (roles_id, users_id);
+
+do
+$$
+    begin
+        if not exists (select 1
+                       from pg_constraint
+                       where conrelid = 'users_roles'::regclass
+                         and contype = 'f'
+                         and conkey = array [(select attnum
+                                              from pg_attribute
+                                              where attrelid = 'users_roles'::regclass
+                                                and attname = 'users_id')]) then
+            alter table users_roles
+                add constraint fk_users_roles_users foreign key (users_id) references users (id);
+        end if;
+        if not exists (select 1
+                       from pg_constraint
+                       where conrelid = 'users_roles'::regclass
+                         and contype = 'f'
+                         and conkey = array [(select attnum
+                                              from pg_attribute
+                                              where attrelid = 'users_roles'::regclass
+                                                and attname = 'roles_id')]) then
+            alter table users_roles
+                add constraint fk_users_roles_roles foreign key (roles_id) references roles (id);
+        end if;
+    end
+$$;
@@ -0,0 +1,33 @@
+-- Ids move from 36-character varchar to the native 16-byte uuid type. Existing (random v4) ids convert as they
+-- are; new rows get time-ordered UUIDv7 ids from the application. The type change rewrites the tables, so their
+-- indexes are rebuilt compactly along the way.
+
+-- Foreign keys pin the column types on both sides, whatever they were named (Hibernate generated random names)
+do
+$$
+    declare
+        fk record;
+    begin
+        for fk in select conname
+                  from pg_constraint
+                  where conrelid = 'users_roles'::regclass
+                    and contype = 'f'
+            loop
+                execute format('alter table users_roles drop constraint %I', fk.conname);
+            end loop;
+    end
+$$;
+
+alter table users
+    alter column id type uuid using id::uuid;
+
+alter table roles
+    alter column id type uuid using id::uuid;
+
+alter table users_roles
+    alter column users_id type uuid using users_id::uuid,
+    alter column roles_id type uuid using roles_id::uuid;
+
+alter table users_roles
+    add constraint fk_users_roles_users foreign key (users_id) references users (id),
+    add constraint fk_users_roles_roles foreign key (roles_id) references roles (id);
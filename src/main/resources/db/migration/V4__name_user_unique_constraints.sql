@@ -0,0 +1,23 @@
+-- Registration maps unique violations to error codes by constraint name, so databases first created by
+-- hibernate.ddl-auto get the names V1 gives fresh ones. Hibernate's case-sensitive unique constraint on email is
+-- dropped: ux_users_email_lower enforces a stricter (case-insensitive) uniqueness on its own.
+do
+$$
+    declare
+        c record;
+    begin
+        for c in select con.conname, att.attname
+                 from pg_constraint con
+                          join pg_attribute att on att.attrelid = con.conrelid and att.attnum = con.conkey[1]
+                 where con.conrelid = 'users'::regclass
+                   and con.contype = 'u'
+                   and array_length(con.conkey, 1) = 1
+            loop
+                if c.attname = 'email' then
+                    execute format('alter table users drop constraint %I', c.conname);
+                elsif c.attname = 'phone_number' and c.conname <> 'uk_users_phone_number' then
+                    execute format('alter table users rename constraint %I to uk_users_phone_number', c.conname);
+                end if;
+            end loop;
+    end
+$$;
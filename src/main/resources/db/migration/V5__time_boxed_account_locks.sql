@@ -0,0 +1,3 @@
+-- Locks taken after repeated failed logins expire on their own; is_account_locked stays for locks set by hand.
+alter table users
+    add column if not exists locked_until timestamp(6);
@@ -0,0 +1,7 @@
+-- Nodes sync their revocation mirror by a database-assigned sequence rather than by revoked_at, which each node
+-- stamped with its own clock.
+alter table revoked_tokens
+    add column if not exists seq bigint generated always as identity;
+
+create unique index if not exists ux_revoked_tokens_seq on revoked_tokens (seq);
+drop index if exists ix_revoked_tokens_revoked_at;
@@ -0,0 +1,12 @@
+-- Token version bumps are pushed to every node's epoch cache through this table instead of each node reading
+-- users.token_version per request. Rows outlive the bump by one access-token lifetime and are then purged.
+create table if not exists token_epoch_bumps
+(
+    seq           bigint generated always as identity,
+    email         varchar(255)                not null,
+    token_version integer                     not null,
+    bumped_at     timestamp(6) with time zone not null,
+    constraint token_epoch_bumps_pkey primary key (seq)
+);
+
+create index if not exists ix_token_epoch_bumps_bumped_at on token_epoch_bumps (bumped_at);
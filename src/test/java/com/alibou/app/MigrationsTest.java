@@ -0,0 +1,79 @@
+package com.alibou.app;
+
+import com.alibou.app.token.RefreshToken;
+import com.alibou.app.token.RevokedToken;
+import com.alibou.app.user.TokenEpochBump;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hibernate only validates tables and columns, so nothing at startup notices an index or a constraint that no
+ * migration creates; these checks read the migration scripts instead.
+ */
+class MigrationsTest {
+
+    private static final Pattern VERSIONED = Pattern.compile("V(\\d+)__[a-z0-9_]+\\.sql");
+
+    private static List<String> fileNames;
+    private static String allSql;
+
+    @BeforeAll
+    static void readMigrations() throws Exception {
+        final Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/*.sql");
+        fileNames = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder();
+        for (final Resource resource : resources) {
+            fileNames.add(resource.getFilename());
+            sql.append(resource.getContentAsString(StandardCharsets.UTF_8)).append('\n');
+        }
+        allSql = sql.toString();
+    }
+
+    @Test
+    void versionsAreNamedForFlywayAndHaveNoGaps() {
+        final List<Integer> versions = fileNames.stream()
+                .map(name -> {
+                    final Matcher matcher = VERSIONED.matcher(name);
+                    assertThat(matcher.matches()).as(name).isTrue();
+                    return Integer.parseInt(matcher.group(1));
+                })
+                .sorted()
+                .toList();
+
+        assertThat(versions).containsExactlyElementsOf(IntStream.rangeClosed(1, versions.size()).boxed().toList());
+    }
+
+    @Test
+    void everyIndexDeclaredOnAnEntityIsCreatedByAMigration() {
+        final List<String> declared = Stream.of(RefreshToken.class, RevokedToken.class, TokenEpochBump.class)
+                .flatMap(entity -> Arrays.stream(entity.getAnnotation(Table.class).indexes()))
+                .map(Index::name)
+                .toList();
+
+        assertThat(declared).isNotEmpty().allSatisfy(name -> assertThat(allSql).contains("exists " + name + " on"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ux_users_email_lower", "ux_roles_name", "ix_users_roles_roles_id"})
+    void hotLookupIndexesAreCreated(final String name) {
+        assertThat(allSql).contains("exists " + name + " on");
+    }
+}
@@ -0,0 +1,129 @@
+package com.alibou.app.auth.impl;
+
+import com.alibou.app.auth.request.RegistrationRequest;
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.role.Role;
+import com.alibou.app.role.RoleRegistry;
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.LoginThrottle;
+import com.alibou.app.token.RefreshTokenService;
+import com.alibou.app.token.TokenRevocationService;
+import com.alibou.app.user.User;
+import com.alibou.app.user.UserMapper;
+import com.alibou.app.user.UserRepository;
+import com.alibou.app.user.UserService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceImplTest {
+
+    private UserRepository userRepository;
+    private RoleRegistry roleRegistry;
+    private UserMapper userMapper;
+    private AuthenticationServiceImpl authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        this.userRepository = mock(UserRepository.class);
+        this.roleRegistry = mock(RoleRegistry.class);
+        this.userMapper = mock(UserMapper.class);
+        when(this.userMapper.toUser(any())).thenAnswer(invocation -> User.builder().build());
+        this.authenticationService = new AuthenticationServiceImpl(
+                mock(AuthenticationManager.class),
+                mock(JwtService.class),
+                this.userRepository,
+                this.roleRegistry,
+                this.userMapper,
+                mock(UserService.class),
+                mock(RefreshTokenService.class),
+                mock(TokenRevocationService.class),
+                mock(LoginThrottle.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void mapsEmailIndexViolationToEmailAlreadyExists() {
+        when(this.userRepository.saveAndFlush(any())).thenThrow(violationOf("ux_users_email_lower"));
+
+        assertThatThrownBy(() -> this.authenticationService.register(request()))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.EMAIL_ALREADY_EXISTS);
+    }
+
+    @Test
+    void mapsPhoneNumberConstraintViolationToPhoneAlreadyExists() {
+        // Some drivers report constraint names in upper case
+        when(this.userRepository.saveAndFlush(any())).thenThrow(violationOf("UK_USERS_PHONE_NUMBER"));
+
+        assertThatThrownBy(() -> this.authenticationService.register(request()))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.PHONE_ALREADY_EXISTS);
+    }
+
+    @Test
+    void rethrowsOtherIntegrityViolations() {
+        final DataIntegrityViolationException other = violationOf("fk_users_roles_users");
+        when(this.userRepository.saveAndFlush(any())).thenThrow(other);
+
+        assertThatThrownBy(() -> this.authenticationService.register(request())).isSameAs(other);
+    }
+
+    @Test
+    void rejectsMismatchedPasswordsBeforeHashing() {
+        final RegistrationRequest request = request();
+        request.setConfirmPassword("something-else");
+
+        assertThatThrownBy(() -> this.authenticationService.register(request))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.PASSWORD_MISMATCH);
+        verify(this.userMapper, never()).toUser(any());
+    }
+
+    @Test
+    void savesUserWithDefaultRole() {
+        final Role role = Role.builder().name(RoleRegistry.ROLE_USER).build();
+        when(this.roleRegistry.getReference(RoleRegistry.ROLE_USER)).thenReturn(role);
+
+        this.authenticationService.register(request());
+
+        final ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(this.userRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getRoles()).containsExactly(role);
+    }
+
+    private static DataIntegrityViolationException violationOf(final String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
+    }
+
+    private static RegistrationRequest request() {
+        return RegistrationRequest.builder()
+                .firstName("Ali")
+                .lastName("Ali")
+                .email("ali@example.com")
+                .phoneNumber("+4912389765634")
+                .password("pAssword1!_")
+                .confirmPassword("pAssword1!_")
+                .build();
+    }
+}
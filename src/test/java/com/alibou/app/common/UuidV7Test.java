@@ -0,0 +1,60 @@
+package com.alibou.app.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void setsVersionAndVariantBits() {
+        final UUID uuid = UuidV7.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void carriesCurrentUnixMillisecondsInTheTopBits() {
+        // A burst in an earlier test can leave the sequence ahead of the clock; wait until the clock has passed it
+        final long latest = UuidV7.next().getMostSignificantBits() >>> 16;
+        while (System.currentTimeMillis() <= latest) {
+            Thread.onSpinWait();
+        }
+
+        final long before = System.currentTimeMillis();
+        final UUID uuid = UuidV7.next();
+        final long after = System.currentTimeMillis();
+
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void strictlyIncreasesWithinOneMillisecond() {
+        final UUID[] uuids = IntStream.range(0, 10_000).mapToObj(i -> UuidV7.next()).toArray(UUID[]::new);
+
+        int sameMillisecond = 0;
+        for (int i = 1; i < uuids.length; i++) {
+            final long previous = uuids[i - 1].getMostSignificantBits();
+            final long current = uuids[i].getMostSignificantBits();
+            assertThat(Long.compareUnsigned(current, previous)).as("id %d", i).isPositive();
+            if (current >>> 16 == previous >>> 16) {
+                sameMillisecond++;
+            }
+        }
+        assertThat(sameMillisecond).as("ids sharing a millisecond").isPositive();
+    }
+
+    @Test
+    void isUniqueAcrossThreads() {
+        final Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> uuids.add(UuidV7.next()));
+
+        assertThat(uuids).hasSize(100_000);
+    }
+}
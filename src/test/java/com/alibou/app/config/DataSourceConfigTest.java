@@ -0,0 +1,62 @@
+package com.alibou.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataSourceConfigTest {
+
+    private final BeanPostProcessor postProcessor = DataSourceConfig.lazyConnectionDataSourcePostProcessor();
+    private DataSource pool;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.pool = mock(DataSource.class);
+        this.connection = mock(Connection.class);
+        when(this.pool.getConnection()).thenReturn(this.connection);
+        when(this.connection.getAutoCommit()).thenReturn(true);
+        when(this.connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+    }
+
+    @Test
+    void checksOutAPooledConnectionOnlyAtTheFirstStatement() throws Exception {
+        final DataSource dataSource = (DataSource) this.postProcessor
+                .postProcessAfterInitialization(this.pool, "dataSource");
+        clearInvocations(this.pool);
+
+        final Connection lazy = dataSource.getConnection();
+        lazy.setAutoCommit(false);
+        lazy.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        verify(this.pool, never()).getConnection();
+
+        lazy.createStatement();
+        verify(this.pool).getConnection();
+    }
+
+    @Test
+    void wrapsEachDataSourceOnce() {
+        final Object wrapped = this.postProcessor.postProcessAfterInitialization(this.pool, "dataSource");
+
+        assertThat(wrapped).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(this.postProcessor.postProcessAfterInitialization(wrapped, "dataSource")).isSameAs(wrapped);
+    }
+
+    @Test
+    void leavesOtherBeansAlone() {
+        final Object bean = new Object();
+
+        assertThat(this.postProcessor.postProcessAfterInitialization(bean, "other")).isSameAs(bean);
+    }
+}
@@ -0,0 +1,58 @@
+package com.alibou.app.controller;
+
+import com.alibou.app.security.JwkSetCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JwksControllerTest {
+
+    private static final byte[] JSON = "{\"keys\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final JwkSetCache jwkSetCache = mock(JwkSetCache.class);
+        when(jwkSetCache.get()).thenReturn(new JwkSetCache.JwkSet(1, JSON, "abc"));
+        this.mockMvc = MockMvcBuilders
+                .standaloneSetup(new JwksController(jwkSetCache, Duration.ofMinutes(5)))
+                .build();
+    }
+
+    @Test
+    void servesTheDocumentWithItsETagAndCacheControl() throws Exception {
+        this.mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/jwk-set+json"))
+                .andExpect(content().bytes(JSON));
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWith304AndNoBody() throws Exception {
+        this.mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void servesTheDocumentAgainOnceTheETagChanged() throws Exception {
+        this.mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(JSON));
+    }
+}
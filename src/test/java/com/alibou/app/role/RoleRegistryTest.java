@@ -0,0 +1,67 @@
+package com.alibou.app.role;
+
+import com.alibou.app.config.CacheConfig;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RoleRegistryTest {
+
+    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+    private Role userRole;
+
+    @BeforeEach
+    void setUp() {
+        this.roleRepository = mock(RoleRepository.class);
+        this.roleRegistry = new RoleRegistry(this.roleRepository, new ConcurrentMapCacheManager(CacheConfig.ROLES));
+        this.userRole = Role.builder().id(UUID.randomUUID()).name(RoleRegistry.ROLE_USER).build();
+    }
+
+    @Test
+    void registeredRoleResolvesWithoutTheDatabase() {
+        this.roleRegistry.register(this.userRole);
+
+        assertThat(this.roleRegistry.getRoleId(RoleRegistry.ROLE_USER)).isEqualTo(this.userRole.getId());
+        verifyNoInteractions(this.roleRepository);
+    }
+
+    @Test
+    void missIsLoadedOnceAndThenServedFromCache() {
+        when(this.roleRepository.findByName(RoleRegistry.ROLE_USER)).thenReturn(Optional.of(this.userRole));
+
+        this.roleRegistry.getRoleId(RoleRegistry.ROLE_USER);
+        this.roleRegistry.getRoleId(RoleRegistry.ROLE_USER);
+
+        verify(this.roleRepository, times(1)).findByName(RoleRegistry.ROLE_USER);
+    }
+
+    @Test
+    void getReferenceHandsOutAReferenceByCachedId() {
+        final Role reference = new Role();
+        when(this.roleRepository.getReferenceById(this.userRole.getId())).thenReturn(reference);
+        this.roleRegistry.register(this.userRole);
+
+        assertThat(this.roleRegistry.getReference(RoleRegistry.ROLE_USER)).isSameAs(reference);
+    }
+
+    @Test
+    void unknownRoleFails() {
+        when(this.roleRepository.findByName("ROLE_UNKNOWN")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> this.roleRegistry.getRoleId("ROLE_UNKNOWN"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.alibou.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    private final AdaptiveBCryptPasswordEncoder encoder =
+            new AdaptiveBCryptPasswordEncoder(Duration.ofSeconds(10), 5, 5);
+
+    @Test
+    void calibratesWithinTheConfiguredRange() {
+        assertThat(this.encoder.getStrength()).isEqualTo(5);
+        assertThat(new AdaptiveBCryptPasswordEncoder(Duration.ZERO, 4, 6).getStrength()).isEqualTo(4);
+    }
+
+    @Test
+    void encodesAtTheCalibratedStrength() {
+        final String hash = this.encoder.encode("secret");
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(this.encoder.matches("secret", hash)).isTrue();
+        assertThat(this.encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void upgradesOnlyWeakerHashes() {
+        assertThat(this.encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(this.encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isFalse();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"plain-text", "$2a$", "$2a$x5$abc", "{noop}secret"})
+    void neverUpgradesWhatIsNotABCryptHash(final String encodedPassword) {
+        assertThat(this.encoder.upgradeEncoding(encodedPassword)).isFalse();
+    }
+}
@@ -0,0 +1,94 @@
+package com.alibou.app.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD_NANOS = 100_000_000L;
+    private static final long FAST = THRESHOLD_NANOS / 10;
+    private static final long SLOW = THRESHOLD_NANOS * 2;
+
+    @Test
+    void rejectsOnceLimitIsInFlight() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD_NANOS, 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void increasesAdditivelyWhileFastAndBusy() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, THRESHOLD_NANOS, 0.5);
+
+        fill(limiter);
+
+        // Each fast completion at full utilisation adds 1/limit, so a limit-worth of them adds about one
+        for (int i = 0; i < 4; i++) {
+            releaseAndReacquire(limiter);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        releaseAndReacquire(limiter);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void doesNotIncreaseWhenMostlyIdle() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, THRESHOLD_NANOS, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void decreasesMultiplicativelyOnSlowOrFailedRequests() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, THRESHOLD_NANOS, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void staysWithinBounds() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 3, THRESHOLD_NANOS, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        fill(limiter);
+        for (int i = 0; i < 100; i++) {
+            releaseAndReacquire(limiter);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    private static void fill(final AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // take every slot
+        }
+    }
+
+    /**
+     * Completes one fast request while the limiter is full and starts another, keeping it at full utilisation.
+     */
+    private static void releaseAndReacquire(final AdaptiveConcurrencyLimiter limiter) {
+        limiter.release(FAST, false);
+        limiter.tryAcquire();
+    }
+}
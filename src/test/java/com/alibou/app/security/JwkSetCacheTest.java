@@ -0,0 +1,121 @@
+package com.alibou.app.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwkSetCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource({
+            "secp256r1, ES256, P-256, 32",
+            "secp384r1, ES384, P-384, 48",
+            "secp521r1, ES512, P-521, 66"
+    })
+    void publishesEcKeysWithTheirCurveAndFullLengthCoordinates(final String curve,
+                                                               final JwtAlgorithm algorithm,
+                                                               final String crv,
+                                                               final int coordinateLength) throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+        final JsonNode jwk = onlyJwk(key("ec", algorithm, generator.generateKeyPair()));
+
+        assertThat(jwk.get("kty").asText()).isEqualTo("EC");
+        assertThat(jwk.get("crv").asText()).isEqualTo(crv);
+        assertThat(jwk.get("alg").asText()).isEqualTo(algorithm.name());
+        assertThat(decode(jwk, "x")).hasSize(coordinateLength);
+        assertThat(decode(jwk, "y")).hasSize(coordinateLength);
+    }
+
+    @Test
+    void publishesRsaModulusAndExponentUnsigned() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final KeyPair keyPair = generator.generateKeyPair();
+        final JsonNode jwk = onlyJwk(key("rsa", JwtAlgorithm.RS256, keyPair));
+
+        assertThat(jwk.get("kty").asText()).isEqualTo("RSA");
+        assertThat(jwk.get("kid").asText()).isEqualTo("rsa");
+        assertThat(jwk.get("use").asText()).isEqualTo("sig");
+        assertThat(decode(jwk, "n")).hasSize(256);
+        assertThat(new BigInteger(1, decode(jwk, "e")))
+                .isEqualTo(((RSAPublicKey) keyPair.getPublic()).getPublicExponent());
+    }
+
+    @Test
+    void publishesEd25519KeyAsOkp() throws Exception {
+        final KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        final JsonNode jwk = onlyJwk(key("ed", JwtAlgorithm.EdDSA, keyPair));
+        final byte[] encoded = keyPair.getPublic().getEncoded();
+
+        assertThat(jwk.get("kty").asText()).isEqualTo("OKP");
+        assertThat(jwk.get("crv").asText()).isEqualTo("Ed25519");
+        assertThat(decode(jwk, "x")).containsExactly(
+                Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length));
+    }
+
+    @Test
+    void servesTheSameDocumentUntilTheKeyRingChanges() throws Exception {
+        final JwtKey first = key("first", JwtAlgorithm.ES256, ecKeyPair());
+        final JwtKeyRing keyRing = new JwtKeyRing(first, List.of(first));
+        final JwkSetCache cache = new JwkSetCache(keyRing, this.objectMapper);
+
+        final JwkSetCache.JwkSet initial = cache.get();
+        assertThat(cache.get()).isSameAs(initial);
+
+        final JwtKey second = key("second", JwtAlgorithm.ES256, ecKeyPair());
+        keyRing.replace(second, List.of(first, second));
+        final JwkSetCache.JwkSet rebuilt = cache.get();
+
+        assertThat(rebuilt.etag()).isNotEqualTo(initial.etag());
+        assertThat(this.objectMapper.readTree(rebuilt.json()).get("keys")).hasSize(2);
+    }
+
+    @Test
+    void etagDependsOnlyOnTheDocument() throws Exception {
+        final JwtKey key = key("same", JwtAlgorithm.ES256, ecKeyPair());
+        final JwtKeyRing keyRing = new JwtKeyRing(key, List.of(key));
+        final JwkSetCache cache = new JwkSetCache(keyRing, this.objectMapper);
+        final String etag = cache.get().etag();
+
+        keyRing.replace(key, List.of(key));
+
+        assertThat(cache.get().etag()).isEqualTo(etag);
+    }
+
+    private JsonNode onlyJwk(final JwtKey key) throws Exception {
+        final JwkSetCache cache = new JwkSetCache(new JwtKeyRing(key, List.of(key)), this.objectMapper);
+        final JsonNode keys = this.objectMapper.readTree(cache.get().json()).get("keys");
+        assertThat(keys).hasSize(1);
+        return keys.get(0);
+    }
+
+    private static byte[] decode(final JsonNode jwk, final String field) {
+        return Base64.getUrlDecoder().decode(jwk.get(field).asText());
+    }
+
+    private static JwtKey key(final String kid, final JwtAlgorithm algorithm, final KeyPair keyPair) {
+        return new JwtKey(kid, algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,72 @@
+package com.alibou.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.EllipticCurve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAlgorithmTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "secp256r1, ES256",
+            "secp384r1, ES384",
+            "secp521r1, ES512"
+    })
+    void picksTheEcdsaAlgorithmBoundToTheKeysCurve(final String curve, final JwtAlgorithm expected) throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+
+        assertThat(JwtAlgorithm.of(generator.generateKeyPair().getPublic())).isEqualTo(expected);
+    }
+
+    @Test
+    void picksRs256ForRsaKeys() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+
+        assertThat(JwtAlgorithm.of(generator.generateKeyPair().getPublic())).isEqualTo(JwtAlgorithm.RS256);
+    }
+
+    @Test
+    void picksEdDsaForEd25519Keys() throws Exception {
+        final PublicKey publicKey = KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPublic();
+
+        assertThat(JwtAlgorithm.of(publicKey)).isEqualTo(JwtAlgorithm.EdDSA);
+    }
+
+    @Test
+    void rejectsCurvesWithoutAnEcdsaAlgorithm() {
+        final ECPublicKey publicKey = mock(ECPublicKey.class);
+        when(publicKey.getAlgorithm()).thenReturn("EC");
+        when(publicKey.getParams()).thenReturn(new ECParameterSpec(
+                new EllipticCurve(new ECFieldFp(BigInteger.valueOf(23)), BigInteger.ONE, BigInteger.ONE),
+                new ECPoint(BigInteger.ZERO, BigInteger.ONE), BigInteger.valueOf(7), 1));
+
+        assertThatThrownBy(() -> JwtAlgorithm.of(publicKey))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("5-bit field");
+    }
+
+    @Test
+    void rejectsUnsupportedKeyTypes() {
+        final PublicKey publicKey = mock(PublicKey.class);
+        when(publicKey.getAlgorithm()).thenReturn("DSA");
+
+        assertThatThrownBy(() -> JwtAlgorithm.of(publicKey)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.alibou.app.security;
+
+import com.alibou.app.config.CacheConfig;
+import com.alibou.app.token.TokenRevocationService;
+import com.alibou.app.user.TokenEpochBumpRepository;
+import com.alibou.app.user.User;
+import com.alibou.app.user.UserEpochCache;
+import com.alibou.app.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtFilterTest {
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private JwtFilter jwtFilter;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.jwtService = mock(JwtService.class);
+        this.userDetailsService = mock(UserDetailsService.class);
+        this.jwtFilter = new JwtFilter(this.jwtService, this.userDetailsService,
+                mock(TokenRevocationService.class), new PublicRoutes(), new ObjectMapper());
+        this.filterChain = mock(FilterChain.class);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsInvalidTokenWith401WithoutLoadingUser() throws Exception {
+        when(this.jwtService.verify("garbage")).thenThrow(InvalidTokenException.MALFORMED);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        this.jwtFilter.doFilter(request("Bearer garbage"), response, this.filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer error=\"invalid_token\"");
+        assertThat(response.getContentAsString()).contains("INVALID_TOKEN");
+        verify(this.filterChain, never()).doFilter(any(), any());
+        verifyNoInteractions(this.userDetailsService);
+    }
+
+    @Test
+    void passesRequestWithoutBearerTokenThrough() throws Exception {
+        final MockHttpServletRequest request = request(null);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        this.jwtFilter.doFilter(request, response, this.filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(this.filterChain).doFilter(request, response);
+        verifyNoInteractions(this.jwtService);
+    }
+
+    @Test
+    void statelessModeAuthenticatesAndRejectsSupersededTokensWithoutTheDatabase() throws Exception {
+        final UserRepository userRepository = mock(UserRepository.class);
+        final TokenEpochBumpRepository tokenEpochBumpRepository = mock(TokenEpochBumpRepository.class);
+        final UserEpochCache userEpochCache = new UserEpochCache(
+                new ConcurrentMapCacheManager(CacheConfig.USER_EPOCHS),
+                userRepository, tokenEpochBumpRepository, 60_000L, 1_000);
+        final JwtService statelessJwtService = statelessJwtService(userEpochCache);
+        final JwtFilter statelessFilter = new JwtFilter(statelessJwtService, this.userDetailsService,
+                mock(TokenRevocationService.class), new PublicRoutes(), new ObjectMapper());
+        final String token = statelessJwtService.generateAccessToken(User.builder()
+                .id(UUID.randomUUID())
+                .email("user@example.com")
+                .tokenVersion(1)
+                .build());
+
+        statelessFilter.doFilter(request("Bearer " + token), new MockHttpServletResponse(), this.filterChain);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isInstanceOf(TokenPrincipal.class);
+
+        SecurityContextHolder.clearContext();
+        userEpochCache.raise("user@example.com", 2);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        statelessFilter.doFilter(request("Bearer " + token), response, this.filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        verifyNoInteractions(this.userDetailsService, userRepository, tokenEpochBumpRepository);
+    }
+
+    private static JwtService statelessJwtService(final UserEpochCache userEpochCache) throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final KeyPair keyPair = generator.generateKeyPair();
+        final JwtKey signingKey = new JwtKey(KeyUtils.keyId(keyPair.getPublic()), JwtAlgorithm.RS256,
+                keyPair.getPrivate(), keyPair.getPublic());
+        final JwtService jwtService = new JwtService(new JwtKeyRing(signingKey, List.of(signingKey)),
+                new VerifiedTokenCache(new NoOpCacheManager()), userEpochCache);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "stateless", true);
+        return jwtService;
+    }
+
+    private static MockHttpServletRequest request(final String authorization) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/users/me");
+        request.setServletPath("/api/v1/users/me");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return request;
+    }
+}
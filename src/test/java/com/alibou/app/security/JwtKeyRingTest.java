@@ -0,0 +1,121 @@
+package com.alibou.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findsKeysByKidAndAlwaysIncludesTheSigningKey() throws Exception {
+        final JwtKey signing = key("signing", generate());
+        final JwtKey retired = key("retired", generate());
+
+        final JwtKeyRing keyRing = new JwtKeyRing(signing, List.of(retired));
+
+        assertThat(keyRing.getSigningKey()).isSameAs(signing);
+        assertThat(keyRing.findKey("signing")).isSameAs(signing);
+        assertThat(keyRing.findKey("retired")).isSameAs(retired);
+        assertThat(keyRing.findKey("unknown")).isNull();
+        assertThat(keyRing.getKeys()).containsExactlyInAnyOrder(signing, retired);
+    }
+
+    @Test
+    void replaceSwapsTheRingAndBumpsTheVersion() throws Exception {
+        final JwtKey first = key("first", generate());
+        final JwtKey second = key("second", generate());
+        final JwtKeyRing keyRing = new JwtKeyRing(first, List.of(first));
+        final long version = keyRing.getVersion();
+
+        keyRing.replace(second, List.of(second));
+
+        assertThat(keyRing.getVersion()).isGreaterThan(version);
+        assertThat(keyRing.getSigningKey()).isSameAs(second);
+        assertThat(keyRing.findKey("first")).isNull();
+    }
+
+    @Test
+    void loadsDirectoryAndSignsWithTheGreatestKidThatHasAPrivateKey() throws Exception {
+        write("2024-01", generate(), true);
+        write("2025-01", generate(), true);
+        write("2026-01", generate(), false);
+
+        final JwtKeyRing keyRing = JwtKeyRing.fromDirectory(this.directory);
+
+        assertThat(keyRing.getSigningKey().kid()).isEqualTo("2025-01");
+        assertThat(keyRing.getKeys()).extracting(JwtKey::kid)
+                .containsExactlyInAnyOrder("2024-01", "2025-01", "2026-01");
+        assertThat(keyRing.findKey("2026-01").privateKey()).isNull();
+        assertThat(keyRing.findKey("2024-01").algorithm()).isEqualTo(JwtAlgorithm.ES256);
+    }
+
+    @Test
+    void activeKidFileChoosesTheSigningKey() throws Exception {
+        write("2024-01", generate(), true);
+        write("2025-01", generate(), true);
+        Files.writeString(this.directory.resolve("active-kid"), "2024-01\n");
+
+        assertThat(JwtKeyRing.fromDirectory(this.directory).getSigningKey().kid()).isEqualTo("2024-01");
+    }
+
+    @Test
+    void reloadPicksUpNewKeys() throws Exception {
+        write("2024-01", generate(), true);
+        final JwtKeyRing keyRing = JwtKeyRing.fromDirectory(this.directory);
+        final long version = keyRing.getVersion();
+
+        write("2025-01", generate(), true);
+        keyRing.reloadFrom(this.directory);
+
+        assertThat(keyRing.getVersion()).isGreaterThan(version);
+        assertThat(keyRing.getSigningKey().kid()).isEqualTo("2025-01");
+        assertThat(keyRing.findKey("2024-01")).isNotNull();
+    }
+
+    @Test
+    void rejectsDirectoryWhoseActiveKeyCannotSign() throws Exception {
+        write("2024-01", generate(), true);
+        write("2025-01", generate(), false);
+        Files.writeString(this.directory.resolve("active-kid"), "2025-01");
+
+        assertThatThrownBy(() -> JwtKeyRing.fromDirectory(this.directory)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void write(final String kid, final KeyPair keyPair, final boolean withPrivateKey) throws Exception {
+        Files.writeString(this.directory.resolve(kid + ".public.pem"),
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        if (withPrivateKey) {
+            Files.writeString(this.directory.resolve(kid + ".private.pem"),
+                    pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        }
+    }
+
+    private static String pem(final String type, final byte[] encoded) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(encoded)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static JwtKey key(final String kid, final KeyPair keyPair) {
+        return new JwtKey(kid, JwtAlgorithm.ES256, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static KeyPair generate() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
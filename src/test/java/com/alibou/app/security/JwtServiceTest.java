@@ -0,0 +1,191 @@
+package com.alibou.app.security;
+
+import com.alibou.app.config.CacheConfig;
+import com.alibou.app.user.TokenEpochBumpRepository;
+import com.alibou.app.user.User;
+import com.alibou.app.user.UserEpochCache;
+import com.alibou.app.user.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JwtServiceTest {
+
+    private static JwtKey signingKey;
+
+    private JwtKeyRing keyRing;
+    private UserEpochCache userEpochCache;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeAll
+    static void generateKey() throws Exception {
+        signingKey = rsaKey();
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.keyRing = new JwtKeyRing(signingKey, List.of(signingKey));
+        this.userEpochCache = new UserEpochCache(new ConcurrentMapCacheManager(CacheConfig.USER_EPOCHS),
+                mock(UserRepository.class), mock(TokenEpochBumpRepository.class), 60_000L, 1_000);
+        this.jwtService = new JwtService(this.keyRing,
+                new VerifiedTokenCache(new NoOpCacheManager()), this.userEpochCache);
+        ReflectionTestUtils.setField(this.jwtService, "accessTokenExpiration", 60_000L);
+        ReflectionTestUtils.setField(this.jwtService, "refreshTokenExpiration", 120_000L);
+        this.user = User.builder()
+                .id(UUID.randomUUID())
+                .email("user@example.com")
+                .tokenVersion(3)
+                .build();
+    }
+
+    @Test
+    void verifiesIssuedAccessToken() {
+        final VerifiedToken token = this.jwtService.verify(this.jwtService.generateAccessToken(this.user));
+
+        assertThat(token.subject()).isEqualTo("user@example.com");
+        assertThat(token.isAccessToken()).isTrue();
+        assertThat(token.tokenVersion()).isEqualTo(3);
+        assertThat(token.tokenId()).isNotNull();
+        assertThat(this.jwtService.isTokenValid(token, "user@example.com")).isTrue();
+    }
+
+    @Test
+    void signsWithNewKeyAfterRotation() throws Exception {
+        final JwtKey rotated = rsaKey();
+        this.jwtService.generateAccessToken(this.user);
+
+        this.keyRing.replace(rotated, List.of(signingKey, rotated));
+        final String token = this.jwtService.generateAccessToken(this.user);
+
+        assertThat(kid(token)).isEqualTo(rotated.kid());
+        assertThat(this.jwtService.verify(token).subject()).isEqualTo("user@example.com");
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void signsAndVerifiesWithEverySupportedAlgorithm(final JwtAlgorithm algorithm) throws Exception {
+        final JwtKey key = key(algorithm);
+        this.keyRing.replace(key, List.of(key));
+
+        final String token = this.jwtService.generateAccessToken(this.user);
+
+        assertThat(header(token)).contains("\"alg\":\"" + algorithm.getSignatureAlgorithm().getId() + "\"");
+        assertThat(this.jwtService.verify(token).subject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void tokenIssuedBeforeEpochBumpIsSuperseded() {
+        final VerifiedToken before = this.jwtService.verify(this.jwtService.generateAccessToken(this.user));
+        assertThat(this.jwtService.isSuperseded(before)).isFalse();
+
+        this.user.setTokenVersion(4);
+        this.userEpochCache.raise("user@example.com", 4);
+        final VerifiedToken after = this.jwtService.verify(this.jwtService.generateAccessToken(this.user));
+
+        assertThat(this.jwtService.isSuperseded(before)).isTrue();
+        assertThat(this.jwtService.isSuperseded(after)).isFalse();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            "not-a-jwt",
+            "header.payload",
+            "a.b.c.d",
+            "a..c",
+            ".b.c",
+            "a.b.",
+            "a.b.c=",
+            "a.b.c d",
+            "a+b.c.d",
+            "a/b.c.d"
+    })
+    void rejectsMalformedTokensBeforeParsing(final String token) {
+        assertThatThrownBy(() -> this.jwtService.verify(token)).isSameAs(InvalidTokenException.MALFORMED);
+    }
+
+    @Test
+    void rejectsOversizedToken() {
+        final String issued = this.jwtService.generateAccessToken(this.user);
+        final String oversized = issued + "A".repeat(8192 - issued.length() + 1);
+
+        assertThatThrownBy(() -> this.jwtService.verify(oversized)).isSameAs(InvalidTokenException.MALFORMED);
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        final String issued = this.jwtService.generateAccessToken(this.user);
+        final char last = issued.charAt(issued.length() - 2);
+        final String tampered = issued.substring(0, issued.length() - 2) + (last == 'A' ? 'B' : 'A')
+                + issued.charAt(issued.length() - 1);
+
+        assertThatThrownBy(() -> this.jwtService.verify(tampered)).isSameAs(InvalidTokenException.INVALID);
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        ReflectionTestUtils.setField(this.jwtService, "accessTokenExpiration", -1_000L);
+        final String expired = this.jwtService.generateAccessToken(this.user);
+
+        assertThatThrownBy(() -> this.jwtService.verify(expired)).isSameAs(InvalidTokenException.EXPIRED);
+    }
+
+    @Test
+    void refreshTokenIsNotValidAsBearerToken() {
+        final VerifiedToken refreshToken = this.jwtService.verify(
+                this.jwtService.generateRefreshToken(this.user, UUID.randomUUID().toString()));
+
+        assertThat(refreshToken.isRefreshToken()).isTrue();
+        assertThat(this.jwtService.isTokenValid(refreshToken, "user@example.com")).isFalse();
+    }
+
+    private static JwtKey rsaKey() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final KeyPair keyPair = generator.generateKeyPair();
+        return new JwtKey(KeyUtils.keyId(keyPair.getPublic()), JwtAlgorithm.RS256,
+                keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static JwtKey key(final JwtAlgorithm algorithm) throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+        switch (algorithm) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case ES384 -> generator.initialize(new ECGenParameterSpec("secp384r1"));
+            case ES512 -> generator.initialize(new ECGenParameterSpec("secp521r1"));
+            case EdDSA -> { }
+        }
+        final KeyPair keyPair = generator.generateKeyPair();
+        return new JwtKey(KeyUtils.keyId(keyPair.getPublic()), algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static String kid(final String token) {
+        return header(token).replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+
+    private static String header(final String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package com.alibou.app.security;
+
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle loginThrottle = new LoginThrottle(30, 10, 5, 2, 3,
+            Duration.ofMinutes(15), Duration.ofMinutes(15), 1_000);
+
+    @Test
+    void locksOnReachingMaxFailuresAndStartsCountingAgain() {
+        assertThat(this.loginThrottle.recordFailure("user@example.com")).isFalse();
+        assertThat(this.loginThrottle.recordFailure("USER@example.com")).isFalse();
+        assertThat(this.loginThrottle.recordFailure("user@example.com")).isTrue();
+
+        assertThat(this.loginThrottle.recordFailure("user@example.com")).isFalse();
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        this.loginThrottle.recordFailure("user@example.com");
+        this.loginThrottle.recordFailure("user@example.com");
+        this.loginThrottle.recordSuccess("user@example.com");
+
+        assertThat(this.loginThrottle.recordFailure("user@example.com")).isFalse();
+    }
+
+    @Test
+    void throttlesEmailBeyondItsBurst() {
+        this.loginThrottle.checkEmail("user@example.com");
+        this.loginThrottle.checkEmail("user@example.com");
+
+        assertThatThrownBy(() -> this.loginThrottle.checkEmail("User@Example.com"))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+    }
+}
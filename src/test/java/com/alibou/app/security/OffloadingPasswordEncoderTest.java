@@ -0,0 +1,58 @@
+package com.alibou.app.security;
+
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OffloadingPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordEncoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private OffloadingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        this.delegate = mock(PasswordEncoder.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.encoder = new OffloadingPasswordEncoder(this.delegate, 1, 1, Duration.ofMillis(100), this.meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.release.countDown();
+        this.encoder.destroy();
+    }
+
+    @Test
+    void returnsTheDelegatesResult() {
+        when(this.delegate.encode("secret")).thenReturn("hash");
+
+        assertThat(this.encoder.encode("secret")).isEqualTo("hash");
+    }
+
+    @Test
+    void hashThatOutlivesTheMaximumWaitFailsWithServiceUnavailable() {
+        when(this.delegate.encode("slow")).thenAnswer(invocation -> {
+            this.release.await();
+            return "hash";
+        });
+
+        assertThatThrownBy(() -> this.encoder.encode("slow"))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.PASSWORD_HASHING_BUSY));
+        assertThat(this.meterRegistry.counter("password.hashing.timed.out").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.alibou.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicRoutesTest {
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final PublicRoutes publicRoutes = new PublicRoutes();
+
+    static Stream<String> paths() {
+        return Stream.concat(
+                PublicRoutes.PATTERNS.stream().map(pattern -> pattern.replace("/**", "/nested/path")),
+                Stream.of(
+                        "/",
+                        "/api/v1/auth/login/",
+                        "/api/v1/auth/loginx",
+                        "/api/v1/auth",
+                        "/api/v1/users/me",
+                        "/API/v1/auth/login",
+                        "/webjars",
+                        "/webjars/",
+                        "/webjarsx",
+                        "/webjars/a/b/c.js",
+                        "/swagger-ui",
+                        "/swagger-ui/index.html",
+                        "/swagger-ui.htmlx",
+                        "/v3/api-docs/swagger-config",
+                        "/v3/api-docsx",
+                        "/actuator/health",
+                        "/actuator/health/liveness",
+                        "/actuator/healthx",
+                        "/actuator/metrics"
+                ));
+    }
+
+    @ParameterizedTest
+    @MethodSource("paths")
+    void agreesWithAntPathMatcher(final String path) {
+        final boolean expected = PublicRoutes.PATTERNS.stream()
+                .anyMatch(pattern -> ANT_PATH_MATCHER.match(pattern, path));
+
+        assertThat(this.publicRoutes.isPublic(path)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/v1/auth/login", "/webjars/app.js", "/actuator/health/readiness"})
+    void matchesRequestsByServletPath(final String path) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+
+        assertThat(this.publicRoutes.matches(request)).isTrue();
+    }
+
+    @Test
+    void doesNotMatchProtectedRequest() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/users/me");
+        request.setServletPath("/api/v1/users/me");
+
+        assertThat(this.publicRoutes.matches(request)).isFalse();
+    }
+}
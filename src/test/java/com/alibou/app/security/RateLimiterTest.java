@@ -0,0 +1,72 @@
+package com.alibou.app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    // 60 permits per minute: one per second
+    private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final RateLimiter rateLimiter = new RateLimiter(60, 3, 100, this.clock::get);
+
+    @Test
+    void allowsBurstThenRejects() {
+        assertThat(this.rateLimiter.tryAcquire("key")).isTrue();
+        assertThat(this.rateLimiter.tryAcquire("key")).isTrue();
+        assertThat(this.rateLimiter.tryAcquire("key")).isTrue();
+        assertThat(this.rateLimiter.tryAcquire("key")).isFalse();
+    }
+
+    @Test
+    void refillsOnePermitPerInterval() {
+        drain("key");
+
+        this.clock.addAndGet(INTERVAL_NANOS / 2);
+        assertThat(this.rateLimiter.tryAcquire("key")).isFalse();
+
+        this.clock.addAndGet(INTERVAL_NANOS / 2);
+        assertThat(this.rateLimiter.tryAcquire("key")).isTrue();
+        assertThat(this.rateLimiter.tryAcquire("key")).isFalse();
+    }
+
+    @Test
+    void quietKeyGetsItsFullBurstBack() {
+        drain("key");
+
+        this.clock.addAndGet(INTERVAL_NANOS * 10);
+        assertThat(this.rateLimiter.tryAcquire("key")).isTrue();
+        assertThat(this.rateLimiter.tryAcquire("key")).isTrue();
+        assertThat(this.rateLimiter.tryAcquire("key")).isTrue();
+        assertThat(this.rateLimiter.tryAcquire("key")).isFalse();
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        drain("key");
+
+        assertThat(this.rateLimiter.tryAcquire("other")).isTrue();
+    }
+
+    @Test
+    void reportsSecondsUntilNextPermit() {
+        assertThat(this.rateLimiter.secondsUntilNextPermit("key")).isZero();
+
+        drain("key");
+
+        assertThat(this.rateLimiter.secondsUntilNextPermit("key")).isEqualTo(1);
+        this.clock.addAndGet(INTERVAL_NANOS);
+        assertThat(this.rateLimiter.secondsUntilNextPermit("key")).isZero();
+    }
+
+    private void drain(final String key) {
+        while (this.rateLimiter.tryAcquire(key)) {
+            // take every permit of the burst
+        }
+    }
+}
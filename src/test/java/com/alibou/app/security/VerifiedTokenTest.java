@@ -0,0 +1,57 @@
+package com.alibou.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenTest {
+
+    @Test
+    void tellsAccessAndRefreshTokensApart() {
+        assertThat(token(VerifiedToken.ACCESS_TOKEN, null, future()).isAccessToken()).isTrue();
+        assertThat(token(VerifiedToken.ACCESS_TOKEN, null, future()).isRefreshToken()).isFalse();
+        assertThat(token(VerifiedToken.REFRESH_TOKEN, null, future()).isRefreshToken()).isTrue();
+        assertThat(token(VerifiedToken.REFRESH_TOKEN, null, future()).isAccessToken()).isFalse();
+        assertThat(token(null, null, future()).isAccessToken()).isFalse();
+    }
+
+    @Test
+    void isExpiredOnceExpiryHasPassed() {
+        assertThat(token(VerifiedToken.ACCESS_TOKEN, null, future()).isExpired()).isFalse();
+        assertThat(token(VerifiedToken.ACCESS_TOKEN, null, System.currentTimeMillis() - 1).isExpired()).isTrue();
+    }
+
+    @Test
+    void isSelfContainedOnlyWithUserId() {
+        assertThat(token(VerifiedToken.ACCESS_TOKEN, UUID.randomUUID(), future()).isSelfContained()).isTrue();
+        assertThat(token(VerifiedToken.ACCESS_TOKEN, null, future()).isSelfContained()).isFalse();
+    }
+
+    @Test
+    void exposesClaims() {
+        final UUID userId = UUID.randomUUID();
+        final long expiresAt = future();
+        final VerifiedToken token = new VerifiedToken("user@example.com", VerifiedToken.ACCESS_TOKEN, "jti", 2,
+                userId, List.of(new SimpleGrantedAuthority("ROLE_USER")), 1_000L, expiresAt);
+
+        assertThat(token.subject()).isEqualTo("user@example.com");
+        assertThat(token.tokenId()).isEqualTo("jti");
+        assertThat(token.tokenVersion()).isEqualTo(2);
+        assertThat(token.userId()).isEqualTo(userId);
+        assertThat(token.authorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(token.issuedAt()).isEqualTo(1_000L);
+        assertThat(token.expiresAt()).isEqualTo(expiresAt);
+    }
+
+    private static VerifiedToken token(final String tokenType, final UUID userId, final long expiresAt) {
+        return new VerifiedToken("user@example.com", tokenType, "jti", 0, userId, List.of(), 0L, expiresAt);
+    }
+
+    private static long future() {
+        return System.currentTimeMillis() + 60_000;
+    }
+}
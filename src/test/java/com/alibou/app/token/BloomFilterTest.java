@@ -0,0 +1,36 @@
+package com.alibou.app.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnInsertedValueAsAbsent() {
+        final BloomFilter filter = BloomFilter.create(1_000, 0.001);
+        final String[] values = IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID().toString())
+                .toArray(String[]::new);
+        for (final String value : values) {
+            filter.put(value);
+        }
+        for (final String value : values) {
+            assertThat(filter.mightContain(value)).as(value).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearItsSizing() {
+        final BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("revoked-" + i));
+
+        final long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+        // Sized for 1%; allow generous slack so the test is not flaky
+        assertThat(falsePositives).isLessThan(3_000);
+    }
+}
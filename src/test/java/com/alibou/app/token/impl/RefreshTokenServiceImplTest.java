@@ -0,0 +1,120 @@
+package com.alibou.app.token.impl;
+
+import com.alibou.app.config.CacheConfig;
+import com.alibou.app.exceptions.BusinessException;
+import com.alibou.app.exceptions.ErrorCode;
+import com.alibou.app.security.JwtService;
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.token.RefreshToken;
+import com.alibou.app.token.RefreshTokenRepository;
+import com.alibou.app.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+
+    private static final String JTI = "jti-1";
+    private static final String FAMILY_ID = "family-1";
+    private static final String EMAIL = "user@example.com";
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private JwtService jwtService;
+    private RefreshTokenServiceImpl refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        this.refreshTokenRepository = mock(RefreshTokenRepository.class);
+        this.jwtService = mock(JwtService.class);
+        this.refreshTokenService = new RefreshTokenServiceImpl(this.refreshTokenRepository, this.jwtService,
+                new ConcurrentMapCacheManager(CacheConfig.REJECTED_REFRESH_TOKENS));
+        this.user = User.builder().email(EMAIL).build();
+    }
+
+    @Test
+    void rotateIssuesSuccessorInSameFamily() {
+        when(this.refreshTokenRepository.markRotated(eq(JTI), any(Instant.class))).thenReturn(1);
+        when(this.refreshTokenRepository.getReferenceById(JTI)).thenReturn(stored(null, false));
+        when(this.jwtService.generateRefreshToken(eq(this.user), anyString())).thenReturn("successor");
+
+        assertThat(this.refreshTokenService.rotate(refreshToken(), this.user)).isEqualTo("successor");
+
+        final ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(this.refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(FAMILY_ID);
+        assertThat(saved.getValue().getJti()).isNotEqualTo(JTI);
+        assertThat(saved.getValue().getUsername()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesFamily() {
+        when(this.refreshTokenRepository.markRotated(eq(JTI), any(Instant.class))).thenReturn(0);
+        when(this.refreshTokenRepository.findById(JTI)).thenReturn(Optional.of(stored(Instant.now(), false)));
+
+        assertThatThrownBy(() -> this.refreshTokenService.rotate(refreshToken(), this.user))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.REFRESH_TOKEN_REUSED);
+        verify(this.refreshTokenRepository).revokeFamily(FAMILY_ID);
+    }
+
+    @Test
+    void revokedTokenIsRejectedWithoutRevokingAgain() {
+        when(this.refreshTokenRepository.markRotated(eq(JTI), any(Instant.class))).thenReturn(0);
+        when(this.refreshTokenRepository.findById(JTI)).thenReturn(Optional.of(stored(Instant.now(), true)));
+
+        assertThatThrownBy(() -> this.refreshTokenService.rotate(refreshToken(), this.user))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_REFRESH_TOKEN);
+        verify(this.refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void replayOfRejectedTokenSkipsDatabase() {
+        when(this.refreshTokenRepository.markRotated(eq(JTI), any(Instant.class))).thenReturn(0);
+        when(this.refreshTokenRepository.findById(JTI)).thenReturn(Optional.of(stored(Instant.now(), false)));
+        assertThatThrownBy(() -> this.refreshTokenService.rotate(refreshToken(), this.user))
+                .isInstanceOf(BusinessException.class);
+
+        assertThatThrownBy(() -> this.refreshTokenService.rotate(refreshToken(), this.user))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_REFRESH_TOKEN);
+        // The second presentation is answered from the rejected-token cache
+        verify(this.refreshTokenRepository).markRotated(eq(JTI), any(Instant.class));
+        verify(this.refreshTokenRepository).findById(JTI);
+    }
+
+    private static VerifiedToken refreshToken() {
+        final long now = System.currentTimeMillis();
+        return new VerifiedToken(EMAIL, VerifiedToken.REFRESH_TOKEN, JTI, 0, null, List.of(), now, now + 60_000);
+    }
+
+    private static RefreshToken stored(final Instant rotatedAt, final boolean revoked) {
+        return RefreshToken.builder()
+                .jti(JTI)
+                .familyId(FAMILY_ID)
+                .username(EMAIL)
+                .expiresAt(Instant.now().plusSeconds(60))
+                .rotatedAt(rotatedAt)
+                .revoked(revoked)
+                .build();
+    }
+}
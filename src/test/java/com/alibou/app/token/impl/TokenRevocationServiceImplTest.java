@@ -0,0 +1,73 @@
+package com.alibou.app.token.impl;
+
+import com.alibou.app.security.VerifiedToken;
+import com.alibou.app.token.RevokedToken;
+import com.alibou.app.token.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceImplTest {
+
+    private static final int EXPECTED_REVOCATIONS = 16;
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        this.revokedTokenRepository = mock(RevokedTokenRepository.class);
+        this.tokenRevocationService = new TokenRevocationServiceImpl(this.revokedTokenRepository,
+                EXPECTED_REVOCATIONS, 1_000);
+    }
+
+    @Test
+    void revokedTokensStayRevokedAfterTheMirrorGrows() {
+        final List<VerifiedToken> revoked = IntStream.range(0, EXPECTED_REVOCATIONS * 20)
+                .mapToObj(i -> accessToken("revoked-" + i))
+                .toList();
+        revoked.forEach(this.tokenRevocationService::revoke);
+
+        assertThat(revoked).allMatch(this.tokenRevocationService::isRevoked);
+        assertThat(this.tokenRevocationService.isRevoked(accessToken("not-revoked"))).isFalse();
+    }
+
+    @Test
+    void syncMirrorsRevocationsFromOtherNodes() {
+        final long expiresAt = System.currentTimeMillis() + 60_000;
+        when(this.revokedTokenRepository.findActiveRevokedAfter(anyLong(), any(Instant.class)))
+                .thenReturn(List.of(RevokedToken.builder()
+                        .jti("elsewhere")
+                        .expiresAt(Instant.ofEpochMilli(expiresAt))
+                        .revokedAt(Instant.now())
+                        .seq(1L)
+                        .build()));
+
+        this.tokenRevocationService.sync();
+
+        assertThat(this.tokenRevocationService.isRevoked(accessToken("elsewhere"))).isTrue();
+    }
+
+    @Test
+    void tokensWithoutIdAreNeverRevoked() {
+        final VerifiedToken token = accessToken(null);
+        this.tokenRevocationService.revoke(token);
+
+        assertThat(this.tokenRevocationService.isRevoked(token)).isFalse();
+    }
+
+    private static VerifiedToken accessToken(final String jti) {
+        final long now = System.currentTimeMillis();
+        return new VerifiedToken("user@example.com", VerifiedToken.ACCESS_TOKEN, jti, 0, null, List.of(),
+                now, now + 60_000);
+    }
+}
@@ -0,0 +1,101 @@
+package com.alibou.app.user;
+
+import com.alibou.app.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserEpochCacheTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private UserRepository userRepository;
+    private TokenEpochBumpRepository tokenEpochBumpRepository;
+    private UserEpochCache userEpochCache;
+
+    @BeforeEach
+    void setUp() {
+        this.userRepository = mock(UserRepository.class);
+        this.tokenEpochBumpRepository = mock(TokenEpochBumpRepository.class);
+        this.userEpochCache = new UserEpochCache(new ConcurrentMapCacheManager(CacheConfig.USER_EPOCHS),
+                this.userRepository, this.tokenEpochBumpRepository, 60_000L, 2);
+    }
+
+    @Test
+    void missIsSeededFromTheTokenWithoutTouchingTheDatabase() {
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 3)).isFalse();
+
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 2)).isTrue();
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 3)).isFalse();
+        verifyNoInteractions(this.userRepository, this.tokenEpochBumpRepository);
+    }
+
+    @Test
+    void raiseSupersedesEarlierTokensCaseInsensitively() {
+        this.userEpochCache.isSuperseded(EMAIL, 1);
+
+        this.userEpochCache.raise("User@Example.com", 2);
+
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 1)).isTrue();
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 2)).isFalse();
+    }
+
+    @Test
+    void raiseNeverLowersTheEpoch() {
+        this.userEpochCache.raise(EMAIL, 5);
+
+        this.userEpochCache.raise(EMAIL, 4);
+
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 4)).isTrue();
+    }
+
+    @Test
+    void publishBumpRecordsTheNewVersionForOtherNodes() {
+        final UUID userId = UUID.randomUUID();
+        when(this.userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(7));
+
+        assertThat(this.userEpochCache.publishBump(userId, "User@Example.com")).isEqualTo(7);
+
+        final ArgumentCaptor<TokenEpochBump> bump = ArgumentCaptor.forClass(TokenEpochBump.class);
+        verify(this.tokenEpochBumpRepository).save(bump.capture());
+        assertThat(bump.getValue().getEmail()).isEqualTo(EMAIL);
+        assertThat(bump.getValue().getTokenVersion()).isEqualTo(7);
+    }
+
+    @Test
+    void syncRaisesEpochsBumpedOnOtherNodes() {
+        this.userEpochCache.isSuperseded(EMAIL, 1);
+        when(this.tokenEpochBumpRepository.findBumpedAfter(anyLong())).thenReturn(List.of(
+                TokenEpochBump.builder().seq(1L).email(EMAIL).tokenVersion(2).bumpedAt(Instant.now()).build()));
+
+        this.userEpochCache.sync();
+
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 1)).isTrue();
+    }
+
+    @Test
+    void purgeDeletesInBatchesUntilAShortBatch() {
+        when(this.tokenEpochBumpRepository.deleteBumpedBeforeBatch(any(Instant.class), anyInt()))
+                .thenReturn(2, 2, 1);
+
+        this.userEpochCache.purgeExpired();
+
+        verify(this.tokenEpochBumpRepository, times(3)).deleteBumpedBeforeBatch(any(Instant.class), anyInt());
+    }
+}
@@ -0,0 +1,110 @@
+package com.alibou.app.user.impl;
+
+import com.alibou.app.config.CacheConfig;
+import com.alibou.app.token.TokenRevocationService;
+import com.alibou.app.user.PrincipalCache;
+import com.alibou.app.user.TokenEpochBump;
+import com.alibou.app.user.TokenEpochBumpRepository;
+import com.alibou.app.user.User;
+import com.alibou.app.user.UserEpochCache;
+import com.alibou.app.user.UserMapper;
+import com.alibou.app.user.UserRepository;
+import com.alibou.app.user.request.ChangePasswordRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private TokenEpochBumpRepository tokenEpochBumpRepository;
+    private PrincipalCache principalCache;
+    private UserEpochCache userEpochCache;
+    private UserServiceImpl userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        this.userRepository = mock(UserRepository.class);
+        this.passwordEncoder = mock(PasswordEncoder.class);
+        this.tokenEpochBumpRepository = mock(TokenEpochBumpRepository.class);
+        final ConcurrentMapCacheManager cacheManager =
+                new ConcurrentMapCacheManager(CacheConfig.USERS, CacheConfig.USER_EPOCHS);
+        this.principalCache = new PrincipalCache(cacheManager);
+        this.userEpochCache = new UserEpochCache(cacheManager, this.userRepository, this.tokenEpochBumpRepository,
+                60_000L, 1_000);
+        this.userService = new UserServiceImpl(this.userRepository, this.passwordEncoder, mock(UserMapper.class),
+                this.principalCache, mock(TokenRevocationService.class), this.userEpochCache,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        this.user = User.builder().id(UUID.randomUUID()).email(EMAIL).password("old-hash").build();
+        when(this.userRepository.findByEmailIgnoreCase(EMAIL)).thenReturn(Optional.of(this.user));
+        when(this.userRepository.findById(this.user.getId())).thenReturn(Optional.of(this.user));
+    }
+
+    @Test
+    void loadUserByUsernameServesRepeatedLookupsFromCache() {
+        this.userService.loadUserByUsername(EMAIL);
+        this.userService.loadUserByUsername(EMAIL);
+
+        verify(this.userRepository, times(1)).findByEmailIgnoreCase(EMAIL);
+        assertThat(this.principalCache.get("USER@example.com")).isSameAs(this.user);
+    }
+
+    @Test
+    void loadCurrentUserByUsernameBypassesCache() {
+        this.principalCache.put(User.builder().email(EMAIL).password("stale-hash").build());
+
+        assertThat(this.userService.loadCurrentUserByUsername(EMAIL).getPassword()).isEqualTo("old-hash");
+        assertThat(this.principalCache.get(EMAIL).getPassword()).isEqualTo("stale-hash");
+    }
+
+    @Test
+    void changePasswordEvictsCachedPrincipalAndSupersedesEarlierTokens() {
+        this.userService.loadUserByUsername(EMAIL);
+        this.userEpochCache.isSuperseded(EMAIL, 0);
+        when(this.passwordEncoder.matches("current", "old-hash")).thenReturn(true);
+        when(this.passwordEncoder.encode("new-Passw0rd!")).thenReturn("new-hash");
+        when(this.userRepository.updatePasswordAndBumpTokenVersion(eq(this.user.getId()), eq("new-hash"),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(this.userRepository.findTokenVersionById(this.user.getId())).thenReturn(Optional.of(1));
+
+        this.userService.changePassword(ChangePasswordRequest.builder()
+                .currentPassword("current")
+                .newPassword("new-Passw0rd!")
+                .confirmNewPassword("new-Passw0rd!")
+                .build(), this.user.getId());
+
+        assertThat(this.principalCache.get(EMAIL)).isNull();
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 0)).isTrue();
+        assertThat(this.userEpochCache.isSuperseded(EMAIL, 1)).isFalse();
+        verify(this.tokenEpochBumpRepository).save(any(TokenEpochBump.class));
+    }
+
+    @Test
+    void rehashOnLoginEvictsCachedPrincipal() {
+        this.userService.loadUserByUsername(EMAIL);
+
+        this.userService.updatePassword(this.user, "rehashed");
+
+        assertThat(this.principalCache.get(EMAIL)).isNull();
+        assertThat(this.user.getPassword()).isEqualTo("rehashed");
+    }
+}